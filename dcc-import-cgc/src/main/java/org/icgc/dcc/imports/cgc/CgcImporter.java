@@ -18,17 +18,22 @@
 package org.icgc.dcc.imports.cgc;
 
 import static com.google.common.base.Stopwatch.createStarted;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 
+import org.icgc.dcc.imports.cgc.reader.CensusCache;
 import org.icgc.dcc.imports.cgc.reader.CensusReader;
+import org.icgc.dcc.imports.cgc.reader.CensusReader.Fallback;
 import org.icgc.dcc.imports.cgc.util.CosmicClient;
 import org.icgc.dcc.imports.cgc.writer.CgcWriter;
 import org.icgc.dcc.imports.core.SourceImporter;
 import org.icgc.dcc.imports.core.model.ImportSource;
 
+import com.google.common.base.Strings;
 import com.mongodb.MongoClientURI;
 
 import lombok.Cleanup;
@@ -55,6 +60,14 @@ public class CgcImporter implements SourceImporter {
   @NonNull
   private final String cosmicPassword;
 
+  /**
+   * Optional directory of cached census exports, the hours for which a cached export is used without contacting
+   * COSMIC, and the {@link CensusReader.Fallback} policy when COSMIC cannot be reached.
+   */
+  public final static String CENSUS_CACHE_DIR = CgcImporter.class.getName() + ".cacheDir";
+  public final static String CENSUS_MAX_CACHE_AGE_HOURS = CgcImporter.class.getName() + ".maxCacheAgeHours";
+  public final static String CENSUS_FALLBACK = CgcImporter.class.getName() + ".fallback";
+
   @Override
   public ImportSource getSource() {
     return ImportSource.CGC;
@@ -75,8 +88,16 @@ public class CgcImporter implements SourceImporter {
   }
 
   public Iterable<Map<String, String>> readCgc() throws IOException {
-    val reader = new CensusReader(new CosmicClient(cosmicUserName, cosmicPassword));
-    return reader.read();
+    return createCensusReader().read();
+  }
+
+  private CensusReader createCensusReader() {
+    val cacheDir = System.getProperty(CENSUS_CACHE_DIR);
+    val cache = Strings.isNullOrEmpty(cacheDir) ? null : new CensusCache(new File(cacheDir));
+    val maxCacheAge = HOURS.toMillis(Long.getLong(CENSUS_MAX_CACHE_AGE_HOURS, 0L));
+    val fallback = Fallback.valueOf(System.getProperty(CENSUS_FALLBACK, Fallback.NONE.name()).toUpperCase());
+
+    return new CensusReader(new CosmicClient(cosmicUserName, cosmicPassword), cache, fallback, maxCacheAge);
   }
 
   private void writeCgc(Iterable<Map<String, String>> cgc) throws IOException {
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.cgc.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import com.google.common.hash.Hashing;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-disk cache of COSMIC census exports, keyed by content hash.
+ * <p>
+ * Each distinct export is stored once as {@code census-<sha256>.csv}. A small pointer file names the most recently
+ * fetched export, and its modification time records when the census was last confirmed against COSMIC.
+ */
+@Slf4j
+public class CensusCache {
+
+  /**
+   * Constants.
+   */
+  private static final String CENSUS_FILE_PREFIX = "census-";
+  private static final String CENSUS_FILE_SUFFIX = ".csv";
+  private static final String LATEST_FILE_NAME = "census.latest";
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final File dir;
+
+  public CensusCache(@NonNull File dir) {
+    this.dir = dir;
+    dir.mkdirs();
+  }
+
+  /**
+   * @return the most recently stored export or {@code null} if there is none
+   */
+  public File getLatest() throws IOException {
+    val latestFile = getLatestFile();
+    if (!latestFile.exists()) {
+      return null;
+    }
+
+    val hash = new String(Files.readAllBytes(latestFile.toPath()), UTF_8).trim();
+    val censusFile = getCensusFile(hash);
+
+    return censusFile.exists() ? censusFile : null;
+  }
+
+  /**
+   * @return milliseconds since the latest export was stored or confirmed, or {@link Long#MAX_VALUE} if there is none
+   */
+  public long getLatestAge() throws IOException {
+    if (getLatest() == null) {
+      return Long.MAX_VALUE;
+    }
+
+    return System.currentTimeMillis() - getLatestFile().lastModified();
+  }
+
+  /**
+   * Stores {@code content} as the latest export. Unchanged content is not rewritten.
+   * 
+   * @return the file holding {@code content}
+   */
+  public File write(@NonNull byte[] content) throws IOException {
+    val hash = Hashing.sha256().hashBytes(content).toString();
+    val censusFile = getCensusFile(hash);
+    if (censusFile.exists()) {
+      log.info("Census is unchanged ({})", hash);
+    } else {
+      log.info("Census has changed, caching as {}", censusFile);
+      writeAtomically(censusFile, content);
+    }
+
+    // Always rewritten to record when the census was last confirmed
+    writeAtomically(getLatestFile(), hash.getBytes(UTF_8));
+
+    return censusFile;
+  }
+
+  private File getLatestFile() {
+    return new File(dir, LATEST_FILE_NAME);
+  }
+
+  private File getCensusFile(String hash) {
+    return new File(dir, CENSUS_FILE_PREFIX + hash + CENSUS_FILE_SUFFIX);
+  }
+
+  private void writeAtomically(File file, byte[] bytes) throws IOException {
+    val temp = File.createTempFile(file.getName(), ".tmp", dir);
+    try {
+      Files.write(temp.toPath(), bytes);
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      temp.delete();
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -17,13 +17,28 @@
  */
 package org.icgc.dcc.imports.cgc.reader;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.icgc.dcc.imports.cgc.model.CgcGene.CGC_SYNONYMS_FIELD_NAME;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.Map;
 
 import org.icgc.dcc.imports.cgc.util.CosmicClient;
 import org.icgc.dcc.imports.core.util.AbstractMapReader;
 
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Resources;
 
+import lombok.Cleanup;
+import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -31,16 +46,66 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CensusReader extends AbstractMapReader {
 
+  /**
+   * Constants.
+   */
+  public static final String BUNDLED_CENSUS_RESOURCE = "cancer_gene_census.tsv";
+  public static final String BUNDLED_CENSUS_DATE = "October 2015";
+  private static final Splitter SYNONYM_SPLITTER =
+      Splitter.on(CharMatcher.anyOf(",\t")).trimResults().omitEmptyStrings();
+  private static final Joiner SYNONYM_JOINER = Joiner.on(',');
+
+  /**
+   * What to read when the census cannot be fetched from COSMIC.
+   */
+  public enum Fallback {
+
+    /**
+     * Fail the import.
+     */
+    NONE,
+
+    /**
+     * Use the last cached export.
+     */
+    CACHE,
+
+    /**
+     * Use the last cached export if any, otherwise the census bundled with this module.
+     */
+    BUNDLED;
+
+  }
+
   /**
    * Dependencies.
    */
   private final CosmicClient client;
+  private final CensusCache cache;
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final Fallback fallback;
+  private final long maxCacheAge;
 
   public CensusReader(CosmicClient client) {
+    this(client, null, Fallback.NONE, 0);
+  }
+
+  /**
+   * @param cache optional cache of previous exports
+   * @param maxCacheAge milliseconds for which a cached export is used without contacting COSMIC at all
+   */
+  public CensusReader(CosmicClient client, CensusCache cache, @NonNull Fallback fallback, long maxCacheAge) {
     // Need to use csv because headers are always comma separated!
     // See https://rt.sanger.ac.uk/Ticket/Display.html?id=525552
     super(COMMA_FIELD_SEPARATOR);
     this.client = client;
+    this.cache = cache;
+    this.fallback = fallback;
+    this.maxCacheAge = maxCacheAge;
   }
 
   public Iterable<Map<String, String>> read() {
@@ -57,13 +122,85 @@ public class CensusReader extends AbstractMapReader {
 
   @SneakyThrows
   private Iterable<Map<String, String>> readCgsStream() {
+    if (cache != null && cache.getLatestAge() < maxCacheAge) {
+      log.info("Using cached census {}", cache.getLatest());
+      return readCached(cache.getLatest());
+    }
+
+    byte[] census;
+    try {
+      census = fetchCensus();
+    } catch (Exception e) {
+      return readFallback(e);
+    }
+
+    if (cache != null) {
+      cache.write(census);
+    }
+
+    return readRecords(new ByteArrayInputStream(census));
+  }
+
+  private byte[] fetchCensus() throws Exception {
     client.login();
 
-    if (isCSV()) {
-      return readRecords(client.getCensusCSV());
-    } else {
-      return readRecords(client.getCensusTSV());
+    @Cleanup
+    val inputStream = isCSV() ? client.getCensusCSV() : client.getCensusTSV();
+
+    return ByteStreams.toByteArray(inputStream);
+  }
+
+  private Iterable<Map<String, String>> readFallback(Exception cause) throws Exception {
+    if (fallback == Fallback.NONE) {
+      throw cause;
+    }
+
+    val cached = cache == null ? null : cache.getLatest();
+    if (cached != null) {
+      log.warn("Could not fetch census from COSMIC, using cached census {}: {}", cached, cause.getMessage());
+      return readCached(cached);
+    }
+
+    if (fallback == Fallback.BUNDLED) {
+      log.warn("Could not fetch census from COSMIC, using bundled '{}' exported {}: {}", BUNDLED_CENSUS_RESOURCE,
+          BUNDLED_CENSUS_DATE, cause.getMessage());
+      return readBundled();
+    }
+
+    throw cause;
+  }
+
+  private static Iterable<Map<String, String>> readBundled() {
+    val genes = ImmutableList.<Map<String, String>> builder();
+    for (val gene : new CgcReader(Resources.getResource(BUNDLED_CENSUS_RESOURCE)).read()) {
+      genes.add(normalizeSynonyms(gene));
     }
+
+    return genes.build();
+  }
+
+  /**
+   * The bundled export joins synonyms with tabs inside a single quoted field, whereas current exports separate them
+   * with commas.
+   */
+  private static Map<String, String> normalizeSynonyms(Map<String, String> gene) {
+    val synonyms = gene.get(CGC_SYNONYMS_FIELD_NAME);
+    if (isNullOrEmpty(synonyms)) {
+      return gene;
+    }
+
+    val normalized = Maps.newLinkedHashMap(gene);
+    normalized.put(CGC_SYNONYMS_FIELD_NAME, SYNONYM_JOINER.join(SYNONYM_SPLITTER.split(synonyms)));
+
+    return normalized;
+  }
+
+  private Iterable<Map<String, String>> readCached(File file) throws Exception {
+    // Materialized so that the file can be closed
+    @Cleanup
+    InputStream inputStream = new FileInputStream(file);
+
+    return ImmutableList.copyOf(readRecords(inputStream));
   }
 
-}
\ No newline at end of file
+}
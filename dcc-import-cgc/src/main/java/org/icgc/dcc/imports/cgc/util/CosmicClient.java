@@ -52,7 +52,8 @@ public class CosmicClient {
    * Constants
    */
   private static final String DEFAULT_API_URL = "https://cancer.sanger.ac.uk/cosmic";
-  private static final int READ_TIMEOUT = (int) SECONDS.toMillis(5);
+  private static final int CONNECT_TIMEOUT = (int) SECONDS.toMillis(5);
+  private static final int READ_TIMEOUT = (int) SECONDS.toMillis(60);
   private static final String METHOD_POST = "POST";
 
   /**
@@ -104,7 +105,7 @@ public class CosmicClient {
   private HttpURLConnection openConnection(String path) throws SocketTimeoutException {
     val connection = (HttpsURLConnection) new URL(url + path).openConnection();
     connection.setReadTimeout(READ_TIMEOUT);
-    connection.setConnectTimeout(READ_TIMEOUT);
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
 
     return connection;
   }
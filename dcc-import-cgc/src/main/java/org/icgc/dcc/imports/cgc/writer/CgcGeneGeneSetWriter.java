@@ -22,21 +22,32 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Collections.emptyList;
 import static org.icgc.dcc.common.core.model.FieldNames.GENE_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.GENE_SYMBOL;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.common.core.util.Splitters.COMMA;
 import static org.icgc.dcc.imports.cgc.writer.CgcGeneSetWriter.CGS_GENE_SET_ID;
 import static org.icgc.dcc.imports.cgc.writer.CgcGeneSetWriter.CGS_GENE_SET_NAME;
+import static org.icgc.dcc.imports.core.util.Genes.getGeneId;
 import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.DIRECT;
 import static org.icgc.dcc.imports.geneset.model.GeneSetType.CURATED_SET;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.icgc.dcc.imports.cgc.model.CgcGene;
 import org.icgc.dcc.imports.geneset.model.gene.GeneGeneSet;
 import org.icgc.dcc.imports.geneset.writer.AbstractGeneGeneSetWriter;
 import org.jongo.MongoCollection;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
 import lombok.NonNull;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -59,51 +70,75 @@ public class CgcGeneGeneSetWriter extends AbstractGeneGeneSetWriter {
   }
 
   /**
+   * Resolves every CGC gene against an in-memory index of the gene collection, first by symbol and then by any
+   * Ensembl id among its synonyms, and applies the gene set to all resolved genes in a single multi-update.
+   * 
    * @see https://jira.oicr.on.ca/browse/DCC-4652
    */
   private int updateGeneGeneSets(Iterable<Map<String, String>> cgc, MongoCollection geneCollection) {
-    int count = 0;
+    log.info("Reading gene symbol index...");
+    val index = readGeneIndex(geneCollection);
+    log.info("Read {} gene symbols", formatCount(index.getGeneIdsBySymbol().keySet().size()));
+
+    val geneIds = Sets.<String> newLinkedHashSet();
+    val unresolved = Lists.<String> newArrayList();
     for (val cgcGene : cgc) {
       val geneSymbol = resolveGeneSymbol(cgcGene);
 
       // First try symbol
-      int n = updateByGeneSymbol(geneCollection, geneSymbol);
-      if (n == 0) {
-        log.warn("Could not find with gene symbol {} to associate with CGC gene: {}", geneSymbol, cgcGene);
-
-        // Next try by id
-        val geneId = resolveEnsembleId(cgcGene);
-        if (geneId == null) {
-          log.warn("-> Can not resolve gene id to associate with CGC gene: {}", cgcGene);
-          continue;
-        }
-
-        n = updateByGeneId(geneCollection, geneId);
-        if (n == 0) {
-          log.warn("-> Could not find with gene id {} to associate with CGC gene: {}", geneId, cgcGene);
-        }
+      val symbolGeneIds = index.getGeneIdsBySymbol().get(geneSymbol);
+      if (!symbolGeneIds.isEmpty()) {
+        geneIds.addAll(symbolGeneIds);
+        continue;
       }
 
-      count += n;
+      // Next try by id
+      val geneId = resolveEnsembleId(cgcGene);
+      if (geneId != null && index.getGeneIds().contains(geneId)) {
+        geneIds.add(geneId);
+        continue;
+      }
+
+      unresolved.add(geneId == null ? geneSymbol : geneSymbol + " (" + geneId + ")");
+    }
+
+    if (!unresolved.isEmpty()) {
+      log.warn("Could not resolve {} CGC genes by gene symbol or gene id: {}", unresolved.size(), unresolved);
     }
 
-    return count;
+    return updateByGeneIds(geneCollection, geneIds);
   }
 
-  private int updateByGeneSymbol(MongoCollection geneCollection, String geneSymbol) {
-    val result = geneCollection.update("{ " + GENE_SYMBOL + ": # }", geneSymbol)
+  private int updateByGeneIds(MongoCollection geneCollection, Collection<String> geneIds) {
+    if (geneIds.isEmpty()) {
+      return 0;
+    }
+
+    val result = geneCollection.update("{ " + GENE_ID + ": { $in: # } }", geneIds)
         .multi()
         .with("{ $addToSet: { " + type.getFieldName() + ": # } }", createGeneGeneSet());
 
     return result.getN();
   }
 
-  private int updateByGeneId(MongoCollection geneCollection, String geneId) {
-    val result = geneCollection.update("{ " + GENE_ID + ": # }", geneId)
-        .multi()
-        .with("{ $addToSet: { " + type.getFieldName() + ": # } }", createGeneGeneSet());
+  private static GeneIndex readGeneIndex(MongoCollection geneCollection) {
+    val geneIdsBySymbol = ArrayListMultimap.<String, String> create();
+    val geneIds = Sets.<String> newHashSet();
 
-    return result.getN();
+    val genes = geneCollection.find()
+        .projection("{ _id: 0, " + GENE_ID + ": 1, " + GENE_SYMBOL + ": 1 }")
+        .as(ObjectNode.class);
+    for (val gene : genes) {
+      val geneId = getGeneId(gene);
+      geneIds.add(geneId);
+
+      val geneSymbol = gene.path(GENE_SYMBOL).textValue();
+      if (geneSymbol != null) {
+        geneIdsBySymbol.put(geneSymbol, geneId);
+      }
+    }
+
+    return new GeneIndex(geneIdsBySymbol, geneIds);
   }
 
   private static String resolveEnsembleId(Map<String, String> cgcGene) {
@@ -137,6 +172,14 @@ public class CgcGeneGeneSetWriter extends AbstractGeneGeneSetWriter {
     return synonym.startsWith("ENSG");
   }
 
+  @Value
+  private static class GeneIndex {
+
+    ListMultimap<String, String> geneIdsBySymbol;
+    Set<String> geneIds;
+
+  }
+
   private static GeneGeneSet createGeneGeneSet() {
     return GeneGeneSet.builder()
         .id(CGS_GENE_SET_ID)
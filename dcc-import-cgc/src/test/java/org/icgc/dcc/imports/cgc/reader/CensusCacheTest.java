@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.cgc.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import lombok.val;
+
+public class CensusCacheTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testWrite() throws Exception {
+    val cache = new CensusCache(tmp.newFolder());
+    assertThat(cache.getLatest()).isNull();
+    assertThat(cache.getLatestAge()).isEqualTo(Long.MAX_VALUE);
+
+    val first = cache.write("Gene Symbol,Synonyms\nABI1,E3B1\n".getBytes(UTF_8));
+    assertThat(cache.getLatest()).isEqualTo(first);
+    assertThat(cache.getLatestAge()).isLessThan(Long.MAX_VALUE);
+
+    // Unchanged content maps to the same file
+    assertThat(cache.write("Gene Symbol,Synonyms\nABI1,E3B1\n".getBytes(UTF_8))).isEqualTo(first);
+
+    val second = cache.write("Gene Symbol,Synonyms\nABL1,ABL\n".getBytes(UTF_8));
+    assertThat(second).isNotEqualTo(first);
+    assertThat(cache.getLatest()).isEqualTo(second);
+    assertThat(new String(Files.readAllBytes(second.toPath()), UTF_8)).contains("ABL1");
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.cgc.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.imports.cgc.model.CgcGene.CGC_GENE_SYMBOL_FIELD_NAME;
+import static org.icgc.dcc.imports.cgc.model.CgcGene.CGC_SYNONYMS_FIELD_NAME;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.imports.cgc.reader.CensusReader.Fallback;
+import org.icgc.dcc.imports.cgc.util.CosmicClient;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class CensusReaderTest {
+
+  /**
+   * Test data.
+   */
+  private static final String FETCHED_CENSUS = "Gene Symbol,Synonyms\nKRAS,\"KRAS2,ENSG00000133703\"\n";
+  private static final String CACHED_CENSUS = "Gene Symbol,Synonyms\nABI1,\"E3B1,ENSG00000136754\"\n";
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private CensusCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    cache = new CensusCache(tmp.newFolder());
+  }
+
+  @Test
+  public void testReadCachesFetchedCensus() throws Exception {
+    val client = new StubCosmicClient(false);
+    val genes = read(new CensusReader(client, cache, Fallback.NONE, 0));
+
+    assertThat(symbols(genes)).containsExactly("KRAS");
+    assertThat(client.logins).isEqualTo(1);
+    assertThat(cache.getLatest()).isNotNull();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReadNoneRethrows() throws Exception {
+    cache.write(CACHED_CENSUS.getBytes(UTF_8));
+
+    read(new CensusReader(new StubCosmicClient(true), cache, Fallback.NONE, 0));
+  }
+
+  @Test
+  public void testReadCacheUsesCachedCensus() throws Exception {
+    cache.write(CACHED_CENSUS.getBytes(UTF_8));
+    val genes = read(new CensusReader(new StubCosmicClient(true), cache, Fallback.CACHE, 0));
+
+    assertThat(symbols(genes)).containsExactly("ABI1");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReadCacheRethrowsWithEmptyCache() throws Exception {
+    read(new CensusReader(new StubCosmicClient(true), cache, Fallback.CACHE, 0));
+  }
+
+  @Test
+  public void testReadBundledPrefersCachedCensus() throws Exception {
+    cache.write(CACHED_CENSUS.getBytes(UTF_8));
+    val genes = read(new CensusReader(new StubCosmicClient(true), cache, Fallback.BUNDLED, 0));
+
+    assertThat(symbols(genes)).containsExactly("ABI1");
+  }
+
+  @Test
+  public void testReadBundledUsesResource() throws Exception {
+    val genes = read(new CensusReader(new StubCosmicClient(true), cache, Fallback.BUNDLED, 0));
+    assertThat(symbols(genes)).contains("ABI1", "ABL1");
+
+    // Tab joined synonyms of the bundled export are comma separated like current exports
+    val abl1 = genes.stream().filter(gene -> gene.get(CGC_GENE_SYMBOL_FIELD_NAME).equals("ABL1")).findFirst().get();
+    assertThat(abl1.get(CGC_SYNONYMS_FIELD_NAME))
+        .doesNotContain("\t")
+        .startsWith("ABL1,p150,")
+        .contains(",ENSG00000097007,");
+  }
+
+  @Test
+  public void testReadReusesFreshCacheWithoutLogin() throws Exception {
+    cache.write(CACHED_CENSUS.getBytes(UTF_8));
+    val client = new StubCosmicClient(true);
+    val genes = read(new CensusReader(client, cache, Fallback.NONE, HOURS.toMillis(1)));
+
+    assertThat(symbols(genes)).containsExactly("ABI1");
+    assertThat(client.logins).isZero();
+  }
+
+  private static List<Map<String, String>> read(CensusReader reader) {
+    return ImmutableList.copyOf(reader.read());
+  }
+
+  private static List<String> symbols(List<Map<String, String>> genes) {
+    return genes.stream().map(gene -> gene.get(CGC_GENE_SYMBOL_FIELD_NAME)).collect(toList());
+  }
+
+  private static class StubCosmicClient extends CosmicClient {
+
+    private final boolean unavailable;
+    private int logins;
+
+    public StubCosmicClient(boolean unavailable) {
+      super("https://localhost/cosmic", "user", "password");
+      this.unavailable = unavailable;
+    }
+
+    @Override
+    public void login() {
+      logins++;
+      if (unavailable) {
+        throw new IllegalStateException("COSMIC unavailable");
+      }
+    }
+
+    @Override
+    public InputStream getCensusCSV() {
+      return new ByteArrayInputStream(FETCHED_CENSUS.getBytes(UTF_8));
+    }
+
+  }
+
+}
@@ -21,23 +21,53 @@ import static org.icgc.dcc.common.core.model.ReleaseCollection.GENE_COLLECTION;
 import static org.icgc.dcc.imports.core.util.Genes.getGeneSymbol;
 import static org.icgc.dcc.imports.core.util.Genes.getGeneUniprotIds;
 
+import java.util.Set;
+
 import org.icgc.dcc.imports.core.util.AbstractJongoComponent;
 import org.jongo.MongoCursor;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.mongodb.MongoClientURI;
 
+import lombok.Cleanup;
+import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public class GeneUniprotIdsReader extends AbstractJongoComponent {
 
   public GeneUniprotIdsReader(MongoClientURI mongoUri) {
     super(mongoUri);
   }
 
+  /**
+   * Reads the "gene universe": the distinct UniProt ids of all genes in the Gene collection. Source records whose
+   * UniProt id is outside of it can never be associated with a gene.
+   */
+  @SneakyThrows
+  public static Set<String> readGeneUniverse(@NonNull MongoClientURI mongoUri) {
+    @Cleanup
+    val reader = new GeneUniprotIdsReader(mongoUri);
+    val universe = reader.readUniprotIds();
+    log.info("Read gene universe of {} uniprot ids", universe.size());
+
+    return universe;
+  }
+
+  public Set<String> readUniprotIds() {
+    val uniprotIds = ImmutableSet.<String> builder();
+    for (val record : readRecords()) {
+      uniprotIds.addAll(getGeneUniprotIds(record));
+    }
+
+    return uniprotIds.build();
+  }
+
   @SneakyThrows
   public Multimap<String, String> read() {
     val geneUniprots = HashMultimap.<String, String> create();
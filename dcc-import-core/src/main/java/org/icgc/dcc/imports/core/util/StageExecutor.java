@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.core.util;
+
+import static com.google.common.base.Stopwatch.createStarted;
+
+import java.io.Closeable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the independent input stages of an importer concurrently on a bounded pool, timing and logging each stage.
+ * <p>
+ * Results are obtained with {@link #join(Future)} which rethrows the original stage failure.
+ */
+@Slf4j
+public class StageExecutor implements Closeable {
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final String name;
+
+  /**
+   * State.
+   */
+  @NonNull
+  private final ExecutorService executor;
+
+  public StageExecutor(@NonNull String name, int threadCount) {
+    this.name = name;
+    this.executor = Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+        .setNameFormat(name + "-stage-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  public <T> Future<T> submit(@NonNull String stage, @NonNull Callable<T> callable) {
+    return executor.submit(() -> {
+      Stopwatch watch = createStarted();
+      log.info("[{}] Starting stage '{}'...", name, stage);
+      try {
+        T result = callable.call();
+        log.info("[{}] Finished stage '{}' in {}", name, stage, watch);
+
+        return result;
+      } catch (Exception e) {
+        log.error("[{}] Stage '{}' failed after {}: ", name, stage, watch, e);
+        throw e;
+      }
+    });
+  }
+
+  @SneakyThrows
+  public static <T> T join(@NonNull Future<T> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Override
+  public void close() {
+    // Abandon any stages still running if another has failed
+    executor.shutdownNow();
+  }
+
+}
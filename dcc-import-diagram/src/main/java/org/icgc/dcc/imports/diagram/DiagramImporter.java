@@ -19,6 +19,7 @@ package org.icgc.dcc.imports.diagram;
 
 import static com.google.common.base.Stopwatch.createStarted;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
@@ -28,6 +29,8 @@ import org.icgc.dcc.imports.core.SourceImporter;
 import org.icgc.dcc.imports.core.model.ImportSource;
 import org.icgc.dcc.imports.diagram.model.DiagramModel;
 import org.icgc.dcc.imports.diagram.reader.DiagramReader;
+import org.icgc.dcc.imports.diagram.reader.ReactomeClient;
+import org.icgc.dcc.imports.diagram.reader.ReactomeResponseCache;
 import org.icgc.dcc.imports.diagram.writer.DiagramWriter;
 
 import com.google.common.base.Strings;
@@ -69,6 +72,28 @@ public class DiagramImporter implements SourceImporter {
 
   public final static String INCLUDED_REACTOME_DIAGRAMS = DiagramImporter.class + ".diagramIds";
 
+  /**
+   * Overrides for the number of concurrent Reactome requests and their aggregate rate.
+   */
+  public final static String REACTOME_THREAD_COUNT = DiagramImporter.class.getName() + ".threadCount";
+  public final static String REACTOME_REQUESTS_PER_SECOND = DiagramImporter.class.getName() + ".requestsPerSecond";
+
+  /**
+   * Optional directory of cached Reactome responses and whether to replay them without contacting Reactome.
+   */
+  public final static String REACTOME_CACHE_DIR = DiagramImporter.class.getName() + ".cacheDir";
+  public final static String REACTOME_OFFLINE = DiagramImporter.class.getName() + ".offline";
+
+  /**
+   * Writes the shared XML and protein map into every non-diagrammed pathway document instead of referencing the parent.
+   */
+  public final static String DENORMALIZE_DIAGRAMS = DiagramImporter.class.getName() + ".denormalize";
+
+  /**
+   * Stores diagram XML gzipped, moving large payloads to GridFS.
+   */
+  public final static String COMPRESS_DIAGRAM_XML = DiagramImporter.class.getName() + ".compressXml";
+
   @Override
   public ImportSource getSource() {
     return ImportSource.DIAGRAMS;
@@ -91,16 +116,31 @@ public class DiagramImporter implements SourceImporter {
   private DiagramModel readDiagramModel() throws Exception {
     val diagramIds = System.getProperty(INCLUDED_REACTOME_DIAGRAMS);
 
+    val reader = createDiagramReader();
+
     if (Strings.isNullOrEmpty(diagramIds)) {
-      return new DiagramReader().read(new ArrayList<String>());
+      return reader.read(new ArrayList<String>());
     } else {
-      return new DiagramReader().read(Arrays.asList(diagramIds.split(",")));
+      return reader.read(Arrays.asList(diagramIds.split(",")));
     }
   }
 
+  private static DiagramReader createDiagramReader() {
+    val threadCount = Integer.getInteger(REACTOME_THREAD_COUNT, DiagramReader.DEFAULT_THREAD_COUNT);
+    val requestsPerSecond = Double.parseDouble(
+        System.getProperty(REACTOME_REQUESTS_PER_SECOND, String.valueOf(ReactomeClient.DEFAULT_REQUESTS_PER_SECOND)));
+
+    val cacheDir = System.getProperty(REACTOME_CACHE_DIR);
+    val cache = Strings.isNullOrEmpty(cacheDir) ? null :
+        new ReactomeResponseCache(new File(cacheDir), Boolean.getBoolean(REACTOME_OFFLINE));
+
+    return new DiagramReader(threadCount, new ReactomeClient(requestsPerSecond, cache));
+  }
+
   private void writeDiagramModel(DiagramModel model) throws UnknownHostException, IOException {
     @Cleanup
-    val writer = new DiagramWriter(mongoUri);
+    val writer = new DiagramWriter(mongoUri, Boolean.getBoolean(DENORMALIZE_DIAGRAMS),
+        Boolean.getBoolean(COMPRESS_DIAGRAM_XML));
     writer.writeValue(model);
   }
 
@@ -29,4 +29,14 @@ public class Diagram {
   String diagram;
   List<String> highlights;
 
+  /**
+   * Pre-parsed form of {@link #diagram}, if it could be parsed.
+   */
+  DiagramGraph graph;
+
+  /**
+   * Id of the diagrammed pathway whose XML and protein map this diagram shares, if any.
+   */
+  String parentId;
+
 }
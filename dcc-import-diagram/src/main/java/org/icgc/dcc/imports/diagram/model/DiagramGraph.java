@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Compact, pre-parsed form of a Reactome diagram.
+ * <p>
+ * Nodes, reactions and edges are laid out as parallel arrays (struct of arrays) where index {@code i} of every
+ * {@code node*} array describes the same node. Types and roles are dictionary encoded. Each node carries the uniprot
+ * ids the protein map resolves its Reactome id to, so consumers need neither the XML nor a separate protein map
+ * lookup.
+ */
+@Value
+@Builder
+public class DiagramGraph {
+
+  /**
+   * Dictionaries.
+   */
+  List<String> types;
+  List<String> roles;
+
+  /**
+   * Nodes.
+   */
+  @JsonProperty("node_ids")
+  int[] nodeIds;
+  @JsonProperty("node_reactome_ids")
+  long[] nodeReactomeIds;
+  @JsonProperty("node_types")
+  int[] nodeTypes;
+  @JsonProperty("node_x")
+  int[] nodeX;
+  @JsonProperty("node_y")
+  int[] nodeY;
+  @JsonProperty("node_width")
+  int[] nodeWidth;
+  @JsonProperty("node_height")
+  int[] nodeHeight;
+  @JsonProperty("node_uniprot_ids")
+  List<List<String>> nodeUniprotIds;
+
+  /**
+   * Reactions and other connecting shapes.
+   */
+  @JsonProperty("reaction_ids")
+  int[] reactionIds;
+  @JsonProperty("reaction_reactome_ids")
+  long[] reactionReactomeIds;
+  @JsonProperty("reaction_types")
+  int[] reactionTypes;
+
+  /**
+   * Edges between reactions and nodes, as indexes into the arrays above.
+   */
+  @JsonProperty("edge_reactions")
+  int[] edgeReactions;
+  @JsonProperty("edge_nodes")
+  int[] edgeNodes;
+  @JsonProperty("edge_roles")
+  int[] edgeRoles;
+
+}
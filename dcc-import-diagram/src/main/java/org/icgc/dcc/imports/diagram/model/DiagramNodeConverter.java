@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.imports.diagram.model;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.icgc.dcc.common.core.model.FieldNames.DIAGRAM_HIGHLIGHTS;
 import static org.icgc.dcc.common.core.model.FieldNames.DIAGRAM_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.DIAGRAM_PROTEIN_MAP;
@@ -32,6 +33,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class DiagramNodeConverter {
 
+  /**
+   * Field of a diagram reference that holds the id of the diagram that has its XML and protein map.
+   */
+  public static final String DIAGRAM_PARENT_ID = "parent_diagram_id";
+
+  /**
+   * Fields of diagrams whose XML is stored compressed: inline as gzip bytes, or as a GridFS file named by the diagram
+   * id. The uncompressed size, in UTF-8 bytes, is kept inline either way.
+   */
+  public static final String DIAGRAM_XML_GZIP = "xml_gz";
+  public static final String DIAGRAM_XML_FILE = "xml_file";
+  public static final String DIAGRAM_XML_SIZE = "xml_size";
+
+  /**
+   * Field of the pre-parsed {@link DiagramGraph}.
+   */
+  public static final String DIAGRAM_GRAPH = "graph";
+
   public JsonNode convertDiagram(@NonNull Diagram diagram, @NonNull String id) {
     val mapper = new ObjectMapper();
 
@@ -54,6 +73,29 @@ public class DiagramNodeConverter {
       node.put(DIAGRAM_PROTEIN_MAP, proteinNode);
     }
 
+    if (diagram.graph != null) {
+      node.putPOJO(DIAGRAM_GRAPH, diagram.graph);
+    }
+
+    return node;
+  }
+
+  /**
+   * Converts a diagram that shares its parent's XML and protein map into a reference to the parent's document.
+   * 
+   * @see DiagramNodeResolver
+   */
+  public JsonNode convertDiagramReference(@NonNull Diagram diagram, @NonNull String id) {
+    checkArgument(diagram.parentId != null, "Diagram '%s' has no parent", id);
+    val mapper = new ObjectMapper();
+
+    val node = mapper.createObjectNode();
+    node.put(MONGO_INTERNAL_ID, id);
+    node.put(DIAGRAM_ID, id);
+    node.putPOJO(DIAGRAM_HIGHLIGHTS, diagram.highlights);
+    node.put(DIAGRAM_PARENT_ID, diagram.parentId);
+
     return node;
   }
+
 }
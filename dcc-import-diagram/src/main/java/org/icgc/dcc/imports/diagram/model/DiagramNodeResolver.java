@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.model;
+
+import static com.google.common.base.Preconditions.checkState;
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.common.core.model.FieldNames.DIAGRAM_PROTEIN_MAP;
+import static org.icgc.dcc.common.core.model.FieldNames.DIAGRAM_XML;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_GRAPH;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_PARENT_ID;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_FILE;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_GZIP;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_SIZE;
+import static org.icgc.dcc.imports.diagram.model.DiagramXmlCodec.decompressXml;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import com.mongodb.gridfs.GridFS;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Restores the denormalized form of diagram documents written as references to their parent diagram, and decodes
+ * diagram XML however it was stored.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class DiagramNodeResolver {
+
+  /**
+   * Constants.
+   */
+  private static final List<String> SHARED_FIELD_NAMES = ImmutableList.of(
+      DIAGRAM_XML, DIAGRAM_XML_GZIP, DIAGRAM_XML_FILE, DIAGRAM_XML_SIZE, DIAGRAM_PROTEIN_MAP, DIAGRAM_GRAPH);
+
+  /**
+   * @param diagramLookup resolves a diagram id to its document, e.g. from the diagram collection
+   * @return {@code node} with the XML and protein map of its parent, or {@code node} itself if it is not a reference
+   */
+  public static ObjectNode resolveDiagram(@NonNull ObjectNode node,
+      @NonNull Function<String, ObjectNode> diagramLookup) {
+    if (!node.hasNonNull(DIAGRAM_PARENT_ID)) {
+      return node;
+    }
+
+    val parentId = node.get(DIAGRAM_PARENT_ID).asText();
+    val parent = diagramLookup.apply(parentId);
+    checkState(parent != null, "Missing parent diagram '%s' of diagram %s", parentId, node);
+
+    val resolved = node.deepCopy();
+    resolved.remove(DIAGRAM_PARENT_ID);
+    for (val fieldName : SHARED_FIELD_NAMES) {
+      if (parent.has(fieldName)) {
+        resolved.set(fieldName, parent.get(fieldName));
+      }
+    }
+
+    return resolved;
+  }
+
+  /**
+   * Decompresses the XML of a diagram document on demand.
+   * 
+   * @param gridFs the bucket large XML was written to. Only required for documents with a {@code xml_file} field.
+   * @return the XML, or {@code null} if the document has none (e.g. an unresolved reference)
+   */
+  @SneakyThrows
+  public static String resolveXml(@NonNull ObjectNode node, GridFS gridFs) {
+    if (node.hasNonNull(DIAGRAM_XML)) {
+      return node.get(DIAGRAM_XML).asText();
+    }
+
+    if (node.hasNonNull(DIAGRAM_XML_GZIP)) {
+      return decompressXml(node.get(DIAGRAM_XML_GZIP).binaryValue());
+    }
+
+    if (node.hasNonNull(DIAGRAM_XML_FILE)) {
+      checkState(gridFs != null, "GridFS is required to resolve XML of diagram %s", node.get(DIAGRAM_XML_FILE));
+      val fileName = node.get(DIAGRAM_XML_FILE).asText();
+      val file = gridFs.findOne(fileName);
+      checkState(file != null, "Missing GridFS XML file '%s'", fileName);
+
+      @Cleanup
+      val input = file.getInputStream();
+      return decompressXml(ByteStreams.toByteArray(input));
+    }
+
+    return null;
+  }
+
+}
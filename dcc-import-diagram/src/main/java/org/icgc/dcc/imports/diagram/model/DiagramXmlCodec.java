@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.model;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.io.ByteStreams;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Gzip encoding of diagram XML. Diagram XML is highly repetitive and typically compresses by an order of magnitude.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class DiagramXmlCodec {
+
+  public static byte[] compressXml(@NonNull String xml) {
+    return compressXml(xml.getBytes(UTF_8));
+  }
+
+  /**
+   * @param xml UTF-8 encoded XML
+   */
+  @SneakyThrows
+  public static byte[] compressXml(@NonNull byte[] xml) {
+    val bytes = new ByteArrayOutputStream();
+    @Cleanup
+    val output = new GZIPOutputStream(bytes);
+    output.write(xml);
+    output.finish();
+
+    return bytes.toByteArray();
+  }
+
+  @SneakyThrows
+  public static String decompressXml(@NonNull byte[] compressed) {
+    @Cleanup
+    val input = new GZIPInputStream(new ByteArrayInputStream(compressed));
+
+    return new String(ByteStreams.toByteArray(input), UTF_8);
+  }
+
+}
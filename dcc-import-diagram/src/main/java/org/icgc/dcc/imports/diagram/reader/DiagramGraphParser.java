@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.icgc.dcc.imports.diagram.model.DiagramGraph;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a Reactome diagram XML document into a {@link DiagramGraph}, joining its nodes with the protein map.
+ * <p>
+ * Renderables directly under {@code <Nodes>} become nodes and those directly under {@code <Edges>} become reactions.
+ * The {@code <Input>}, {@code <Output>}, {@code <Catalyst>}, {@code <Activator>} and {@code <Inhibitor>} elements of a
+ * reaction become its edges.
+ */
+@Slf4j
+public class DiagramGraphParser {
+
+  /**
+   * Reactome XML name constants.
+   */
+  private static final String NODES_ELEMENT_NAME = "Nodes";
+  private static final String EDGES_ELEMENT_NAME = "Edges";
+  private static final String RENDERABLE_PREFIX = "Renderable";
+  private static final String ID_ATTRIBUTE_NAME = "id";
+  private static final String REACTOME_ID_ATTRIBUTE_NAME = "reactomeId";
+  private static final String BOUNDS_ATTRIBUTE_NAME = "bounds";
+  private static final String POSITION_ATTRIBUTE_NAME = "position";
+  private static final ImmutableSet<String> ROLE_ELEMENT_NAMES =
+      ImmutableSet.of("Input", "Output", "Catalyst", "Activator", "Inhibitor");
+
+  /**
+   * Constants.
+   */
+  private static final long NO_REACTOME_ID = -1;
+
+  private final XMLInputFactory factory = XMLInputFactory.newInstance();
+
+  /**
+   * @return the graph or {@code null} if {@code xml} could not be parsed
+   */
+  public DiagramGraph parse(@NonNull String xml, @NonNull Map<String, List<String>> proteinMap) {
+    try {
+      val reader = factory.createXMLStreamReader(new StringReader(xml));
+      try {
+        return parse(reader, proteinMap);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      log.warn("Could not parse diagram XML: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private static DiagramGraph parse(XMLStreamReader reader, Map<String, List<String>> proteinMap)
+      throws XMLStreamException {
+    val state = new State();
+
+    int depth = 0;
+    int sectionDepth = -1;
+    String section = null;
+    while (reader.hasNext()) {
+      val event = reader.next();
+      if (event == START_ELEMENT) {
+        depth++;
+        val name = reader.getLocalName();
+        if (section == null && (name.equals(NODES_ELEMENT_NAME) || name.equals(EDGES_ELEMENT_NAME))) {
+          section = name;
+          sectionDepth = depth;
+        } else if (NODES_ELEMENT_NAME.equals(section) && depth == sectionDepth + 1) {
+          state.addNode(reader, proteinMap);
+        } else if (EDGES_ELEMENT_NAME.equals(section) && depth == sectionDepth + 1) {
+          state.addReaction(reader);
+        } else if (EDGES_ELEMENT_NAME.equals(section) && ROLE_ELEMENT_NAMES.contains(name)) {
+          state.addEdge(reader, name.toLowerCase());
+        }
+      } else if (event == END_ELEMENT) {
+        if (depth == sectionDepth) {
+          section = null;
+          sectionDepth = -1;
+        }
+        depth--;
+      }
+    }
+
+    return state.build();
+  }
+
+  /**
+   * Growable columns of the graph under construction.
+   */
+  private static class State {
+
+    final Map<String, Integer> types = Maps.newLinkedHashMap();
+    final Map<String, Integer> roles = Maps.newLinkedHashMap();
+
+    final Map<Integer, Integer> nodeIndexes = Maps.newHashMap();
+    final List<Integer> nodeIds = Lists.newArrayList();
+    final List<Long> nodeReactomeIds = Lists.newArrayList();
+    final List<Integer> nodeTypes = Lists.newArrayList();
+    final List<Integer> nodeX = Lists.newArrayList();
+    final List<Integer> nodeY = Lists.newArrayList();
+    final List<Integer> nodeWidth = Lists.newArrayList();
+    final List<Integer> nodeHeight = Lists.newArrayList();
+    final List<List<String>> nodeUniprotIds = Lists.newArrayList();
+
+    final List<Integer> reactionIds = Lists.newArrayList();
+    final List<Long> reactionReactomeIds = Lists.newArrayList();
+    final List<Integer> reactionTypes = Lists.newArrayList();
+
+    /**
+     * Node ids of edges, resolved to indexes once all nodes are known.
+     */
+    final List<Integer> edgeReactions = Lists.newArrayList();
+    final List<Integer> edgeNodeIds = Lists.newArrayList();
+    final List<Integer> edgeRoles = Lists.newArrayList();
+
+    void addNode(XMLStreamReader reader, Map<String, List<String>> proteinMap) {
+      val id = getId(reader);
+      if (id == null) {
+        return;
+      }
+
+      val reactomeId = reader.getAttributeValue(null, REACTOME_ID_ATTRIBUTE_NAME);
+      val uniprotIds = reactomeId == null ? null : proteinMap.get(reactomeId);
+      val bounds = getBounds(reader);
+
+      nodeIndexes.put(id, nodeIds.size());
+      nodeIds.add(id);
+      nodeReactomeIds.add(parseReactomeId(reactomeId));
+      nodeTypes.add(encode(types, getType(reader)));
+      nodeX.add(bounds[0]);
+      nodeY.add(bounds[1]);
+      nodeWidth.add(bounds[2]);
+      nodeHeight.add(bounds[3]);
+      nodeUniprotIds.add(uniprotIds == null ? Collections.<String> emptyList() : uniprotIds);
+    }
+
+    void addReaction(XMLStreamReader reader) {
+      val id = getId(reader);
+
+      reactionIds.add(id == null ? -1 : id);
+      reactionReactomeIds.add(parseReactomeId(reader.getAttributeValue(null, REACTOME_ID_ATTRIBUTE_NAME)));
+      reactionTypes.add(encode(types, getType(reader)));
+    }
+
+    void addEdge(XMLStreamReader reader, String role) {
+      val nodeId = getId(reader);
+      if (nodeId == null || reactionIds.isEmpty()) {
+        return;
+      }
+
+      edgeReactions.add(reactionIds.size() - 1);
+      edgeNodeIds.add(nodeId);
+      edgeRoles.add(encode(roles, role));
+    }
+
+    DiagramGraph build() {
+      val edgeNodes = Lists.<Integer> newArrayListWithCapacity(edgeNodeIds.size());
+      val resolvedEdgeReactions = Lists.<Integer> newArrayListWithCapacity(edgeNodeIds.size());
+      val resolvedEdgeRoles = Lists.<Integer> newArrayListWithCapacity(edgeNodeIds.size());
+      for (int i = 0; i < edgeNodeIds.size(); i++) {
+        val nodeIndex = nodeIndexes.get(edgeNodeIds.get(i));
+        if (nodeIndex != null) {
+          edgeNodes.add(nodeIndex);
+          resolvedEdgeReactions.add(edgeReactions.get(i));
+          resolvedEdgeRoles.add(edgeRoles.get(i));
+        }
+      }
+
+      return DiagramGraph.builder()
+          .types(ImmutableList.copyOf(types.keySet()))
+          .roles(ImmutableList.copyOf(roles.keySet()))
+          .nodeIds(Ints.toArray(nodeIds))
+          .nodeReactomeIds(Longs.toArray(nodeReactomeIds))
+          .nodeTypes(Ints.toArray(nodeTypes))
+          .nodeX(Ints.toArray(nodeX))
+          .nodeY(Ints.toArray(nodeY))
+          .nodeWidth(Ints.toArray(nodeWidth))
+          .nodeHeight(Ints.toArray(nodeHeight))
+          .nodeUniprotIds(nodeUniprotIds)
+          .reactionIds(Ints.toArray(reactionIds))
+          .reactionReactomeIds(Longs.toArray(reactionReactomeIds))
+          .reactionTypes(Ints.toArray(reactionTypes))
+          .edgeReactions(Ints.toArray(resolvedEdgeReactions))
+          .edgeNodes(Ints.toArray(edgeNodes))
+          .edgeRoles(Ints.toArray(resolvedEdgeRoles))
+          .build();
+    }
+
+    private static int encode(Map<String, Integer> dictionary, String value) {
+      Integer code = dictionary.get(value);
+      if (code == null) {
+        code = dictionary.size();
+        dictionary.put(value, code);
+      }
+
+      return code;
+    }
+
+  }
+
+  private static Integer getId(XMLStreamReader reader) {
+    val id = reader.getAttributeValue(null, ID_ATTRIBUTE_NAME);
+
+    return id == null ? null : Ints.tryParse(id.trim());
+  }
+
+  private static long parseReactomeId(String reactomeId) {
+    val value = reactomeId == null ? null : Longs.tryParse(reactomeId.trim());
+
+    return value == null ? NO_REACTOME_ID : value;
+  }
+
+  /**
+   * @return the type of a renderable, e.g. {@code Protein} for {@code org.gk.render.RenderableProtein}
+   */
+  private static String getType(XMLStreamReader reader) {
+    val name = reader.getLocalName();
+    val simpleName = name.substring(name.lastIndexOf('.') + 1);
+
+    return simpleName.startsWith(RENDERABLE_PREFIX) ? simpleName.substring(RENDERABLE_PREFIX.length()) : simpleName;
+  }
+
+  /**
+   * @return x, y, width and height from the {@code bounds} attribute, or x and y from {@code position}
+   */
+  private static int[] getBounds(XMLStreamReader reader) {
+    val bounds = new int[4];
+    String value = reader.getAttributeValue(null, BOUNDS_ATTRIBUTE_NAME);
+    if (value == null) {
+      value = reader.getAttributeValue(null, POSITION_ATTRIBUTE_NAME);
+    }
+    if (value == null) {
+      return bounds;
+    }
+
+    val parts = value.trim().split("\\s+");
+    for (int i = 0; i < Math.min(parts.length, bounds.length); i++) {
+      val part = Ints.tryParse(parts[i]);
+      bounds[i] = part == null ? (int) Math.round(parseDouble(parts[i])) : part;
+    }
+
+    return bounds;
+  }
+
+  private static double parseDouble(String value) {
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+}
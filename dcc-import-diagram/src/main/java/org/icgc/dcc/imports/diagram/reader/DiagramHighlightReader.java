@@ -17,47 +17,78 @@
  */
 package org.icgc.dcc.imports.diagram.reader;
 
-import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.base.Strings.nullToEmpty;
-import static com.google.common.io.Resources.readLines;
 import static java.util.Collections.emptyList;
 import static org.icgc.dcc.common.core.util.Splitters.COMMA;
 import static org.icgc.dcc.imports.diagram.reader.DiagramReader.REACTOME_BASE_URL;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.google.common.base.Splitter;
+
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
+@RequiredArgsConstructor
 public class DiagramHighlightReader {
 
   public static final String CONTAINED_EVENTS_URL = REACTOME_BASE_URL + "getContainedEventIds/%s";
-  private static final List<String> FAILURES = new ArrayList<String>();
+  private static final List<String> FAILURES = Collections.synchronizedList(new ArrayList<String>());
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final ReactomeClient client;
+
+  public DiagramHighlightReader() {
+    this(new ReactomeClient());
+  }
 
   public List<String> readHighlights(@NonNull String pathwayId) throws IOException {
-    val diagramUrl = new URL(String.format(CONTAINED_EVENTS_URL, pathwayId));
+    try {
+      return fetchHighlights(pathwayId);
+    } catch (ReactomeResponseException e) {
+      if (e.getStatus() == 500) {
+        return recordFailure(pathwayId);
+      }
 
-    val connection = (HttpURLConnection) diagramUrl.openConnection();
-    if (connection.getResponseCode() == 500) {
-      log.error("500 Server Error from Reactome!\nFailed to get URL: {}\nSetting '{}' highlights to \"\"",
-          diagramUrl.toExternalForm(), pathwayId);
-      FAILURES.add(pathwayId);
-      return emptyList();
+      throw e;
     }
+  }
+
+  /**
+   * Like {@link #readHighlights(String)} but fails on any unsuccessful response, so that the caller can retry.
+   */
+  public List<String> fetchHighlights(@NonNull String pathwayId) throws IOException {
+    val diagramUrl = new URL(String.format(CONTAINED_EVENTS_URL, pathwayId));
+
+    return parseHighlights(client.getString(diagramUrl));
+  }
+
+  /**
+   * Records that the highlights of {@code pathwayId} could not be read.
+   * 
+   * @return the empty highlights to use instead
+   */
+  public static List<String> recordFailure(@NonNull String pathwayId) {
+    log.error("500 Server Error from Reactome!\nFailed to get URL: {}\nSetting '{}' highlights to \"\"",
+        String.format(CONTAINED_EVENTS_URL, pathwayId), pathwayId);
+    FAILURES.add(pathwayId);
 
-    return parseHighlights(diagramUrl);
+    return emptyList();
   }
 
-  private List<String> parseHighlights(URL diagramUrl) throws IOException {
+  private List<String> parseHighlights(String body) {
     // Read the first (and only) line that contains a list of reaction ids to zoom in on
-    val lines = readLines(diagramUrl, UTF_8);
+    val lines = Splitter.onPattern("\\r?\\n").splitToList(body);
     if (lines.isEmpty()) {
       return Collections.emptyList();
     }
@@ -30,8 +30,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 
+@RequiredArgsConstructor
 public class DiagramProteinMapReader {
 
   /**
@@ -40,8 +43,18 @@ public class DiagramProteinMapReader {
   private final static String PROTEIN_MAP_URL = REACTOME_BASE_URL + "getPhysicalToReferenceEntityMaps/%s";
   private final static String GENE_TYPE = "ReferenceGeneProduct";
 
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final ReactomeClient client;
+
+  public DiagramProteinMapReader() {
+    this(new ReactomeClient());
+  }
+
   public Map<String, List<String>> readProteinMap(String pathwayId) throws IOException {
-    val result = DEFAULT.readTree(new URL(format(PROTEIN_MAP_URL, pathwayId)));
+    val result = DEFAULT.readTree(client.getString(new URL(format(PROTEIN_MAP_URL, pathwayId))));
 
     val proteinMap = Maps.<String, List<String>> newHashMap();
     result.forEach(node -> {
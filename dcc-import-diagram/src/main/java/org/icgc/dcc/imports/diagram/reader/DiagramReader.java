@@ -19,13 +19,18 @@ package org.icgc.dcc.imports.diagram.reader;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.imports.core.util.StageExecutor.join;
 import static org.icgc.dcc.imports.diagram.reader.DiagramHighlightReader.CONTAINED_EVENTS_URL;
 import static org.icgc.dcc.imports.diagram.reader.DiagramHighlightReader.getFailedPathways;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.transform.TransformerException;
 
@@ -34,21 +39,59 @@ import org.icgc.dcc.imports.diagram.model.DiagramModel;
 import org.icgc.dcc.imports.diagram.model.Pathways;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Fetches the diagrams of all pathways from Reactome.
+ * <p>
+ * Requests are issued concurrently from a bounded pool of workers, with the XML and protein map of a pathway fetched in
+ * parallel. The aggregate request rate is capped by the shared {@link ReactomeClient}. Failed requests are retried
+ * asynchronously by a {@link ReactomeRetryQueue}.
+ */
 @Slf4j
 public class DiagramReader {
 
   public final static String REACTOME_BASE_URL = "http://reactomews.oicr.on.ca:8080/ReactomeRESTfulAPI/RESTfulWS/";
   public final static List<String> NOT_HIGHLIGHTED = emptyList();
 
-  private final static int PATHWAY_ENDPOINT_DELAY_MILLISECONDS = 100;
-  private final static int ID_ENDPOINT_DELAY_MILLISECONDS = 100;
+  public final static int DEFAULT_THREAD_COUNT = 4;
+
+  /**
+   * Endpoint names for request statistics.
+   */
+  private final static String XML_ENDPOINT = "pathwayDiagram";
+  private final static String PROTEIN_MAP_ENDPOINT = "getPhysicalToReferenceEntityMaps";
+  private final static String HIGHLIGHTS_ENDPOINT = "getContainedEventIds";
+
+  /**
+   * Configuration.
+   */
+  private final int threadCount;
+
+  /**
+   * Dependencies.
+   */
+  private final ReactomeClient client;
+  private final DiagramListReader listReader = new DiagramListReader();
 
-  private DiagramListReader listReader = new DiagramListReader();
+  public DiagramReader() {
+    this(DEFAULT_THREAD_COUNT, ReactomeClient.DEFAULT_REQUESTS_PER_SECOND);
+  }
+
+  public DiagramReader(int threadCount, double requestsPerSecond) {
+    this(threadCount, new ReactomeClient(requestsPerSecond));
+  }
+
+  public DiagramReader(int threadCount, @NonNull ReactomeClient client) {
+    this.threadCount = threadCount;
+    this.client = client;
+  }
 
   public DiagramModel read(@NonNull List<String> testPathways) throws Exception {
     val model = new DiagramModel();
@@ -57,24 +100,44 @@ public class DiagramReader {
 
     printEstimateTime(pathways.getDiagrammed().size(), pathways.getNotDiagrammed().size());
 
+    @Cleanup("shutdownNow")
+    val executor = createExecutor();
+    @Cleanup
+    val requests = new ReactomeRetryQueue(executor);
+
+    // Queue every request up front; the rate limiter paces them and failures are retried in the background
+    val xmlReader = new DiagramXmlReader(client);
+    val proteinMapReader = new DiagramProteinMapReader(client);
+    val xmls = Maps.<String, Future<String>> newLinkedHashMap();
+    val proteinMaps = Maps.<String, Future<Map<String, List<String>>>> newLinkedHashMap();
+    for (val pathwayId : pathways.getDiagrammed()) {
+      xmls.put(pathwayId, requests.submit(XML_ENDPOINT, () -> xmlReader.readPathwayXml(pathwayId)));
+      proteinMaps.put(pathwayId,
+          requests.submit(PROTEIN_MAP_ENDPOINT, () -> proteinMapReader.readProteinMap(pathwayId)));
+    }
+
+    val highlightReader = new DiagramHighlightReader(client);
+    val highlights = Maps.<String, Future<List<String>>> newLinkedHashMap();
+    for (val id : pathways.getNotDiagrammed()) {
+      val nonDiagrammedId = parseNonDiagramId(id);
+      highlights.put(id, requests.submit(HIGHLIGHTS_ENDPOINT, () -> highlightReader.fetchHighlights(nonDiagrammedId)));
+    }
+
     int count = 1;
+    val graphParser = new DiagramGraphParser();
 
     log.info("Getting all diagrammed pathways and their protein maps...");
     for (val pathwayId : pathways.getDiagrammed()) {
       val diagram = new Diagram();
 
-      val xmlReader = new DiagramXmlReader();
-      val proteinMapReader = new DiagramProteinMapReader();
-
-      diagram.setDiagram(xmlReader.readPathwayXml(pathwayId));
-      diagram.setProteinMap(proteinMapReader.readProteinMap(pathwayId));
+      diagram.setDiagram(join(xmls.get(pathwayId)));
+      diagram.setProteinMap(join(proteinMaps.get(pathwayId)));
       diagram.setHighlights(NOT_HIGHLIGHTED);
+      diagram.setGraph(graphParser.parse(diagram.getDiagram(), diagram.getProteinMap()));
 
       model.addDiagram(pathwayId, diagram);
 
       log.info("[{}/{}] Added diagram '{}'", count, pathways.getDiagrammed().size(), pathwayId);
-
-      Thread.sleep(PATHWAY_ENDPOINT_DELAY_MILLISECONDS); // To avoid crashing reactome's servers
       count++;
     }
 
@@ -85,23 +148,27 @@ public class DiagramReader {
       val diagrammedId = parseDiagramId(id);
       val nonDiagrammedId = parseNonDiagramId(id);
 
-      val highlightReader = new DiagramHighlightReader();
-
       val baseDiagram = model.getDiagrams().get(diagrammedId);
       val newDiagram = new Diagram();
-      newDiagram.setHighlights(highlightReader.readHighlights(nonDiagrammedId));
+      newDiagram.setHighlights(joinHighlights(highlights.get(id), nonDiagrammedId));
       newDiagram.setDiagram(baseDiagram.getDiagram());
       newDiagram.setProteinMap(baseDiagram.getProteinMap());
+      newDiagram.setGraph(baseDiagram.getGraph());
+      newDiagram.setParentId(listReader.getReactId(diagrammedId));
 
       model.addDiagram(nonDiagrammedId, newDiagram);
 
       log.info("[{}/{}] Added non-diagram '{}' of pathway '{}'", count, pathways.getNotDiagrammed().size(),
           nonDiagrammedId, diagrammedId);
-
-      Thread.sleep(PATHWAY_ENDPOINT_DELAY_MILLISECONDS);
       count++;
     }
 
+    log.info("Reactome request statistics:");
+    requests.logStatistics();
+    if (client.getCache() != null) {
+      log.info("Reactome response cache: {}", client.getCache().getStatistics());
+    }
+
     if (getFailedPathways().isEmpty() == false) {
       log.info("Failed to read highlights of {} pathways...", getFailedPathways().size());
       printFailed();
@@ -111,24 +178,47 @@ public class DiagramReader {
 
     log.info("Replacing all dbIds with REACT ids...");
     for (val entry : model.getDiagrams().entrySet()) {
+      // Derived locally, so there is no endpoint to pace
       val reactId = listReader.getReactId(entry.getKey());
       updatedModel.addDiagram(reactId, entry.getValue());
 
-      Thread.sleep(ID_ENDPOINT_DELAY_MILLISECONDS);
       log.info("Saved diagram  dbId '{}' as {}", entry.getKey(), reactId);
     }
 
     return updatedModel;
   }
 
-  private void printEstimateTime(int diagrammed, int nonDiagrammed) {
-    int pathwayDelay = (diagrammed + nonDiagrammed) * PATHWAY_ENDPOINT_DELAY_MILLISECONDS;
-    int idDelay = (diagrammed + nonDiagrammed) * ID_ENDPOINT_DELAY_MILLISECONDS;
-    int totalTime = pathwayDelay + idDelay + diagrammed * 300 + nonDiagrammed * 150;
+  /**
+   * Falls back to empty highlights once all retries of a server error have failed.
+   */
+  private static List<String> joinHighlights(Future<List<String>> future, String pathwayId) throws Exception {
+    try {
+      return join(future);
+    } catch (Exception e) {
+      if (e instanceof ReactomeResponseException && ((ReactomeResponseException) e).getStatus() == 500) {
+        return DiagramHighlightReader.recordFailure(pathwayId);
+      }
+
+      throw e;
+    }
+  }
 
-    log.info(format("Estimated Time: %d min, %d sec",
-        MILLISECONDS.toMinutes(totalTime),
-        MILLISECONDS.toSeconds(totalTime) - MINUTES.toSeconds(MILLISECONDS.toMinutes(totalTime))));
+  private ExecutorService createExecutor() {
+    return Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+        .setNameFormat("diagram-fetch-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  private void printEstimateTime(int diagrammed, int nonDiagrammed) {
+    // Throughput is bounded by the request rate rather than by latency
+    val requestCount = 2 * diagrammed + nonDiagrammed;
+    val totalSeconds = (long) Math.ceil(requestCount / client.getRequestsPerSecond());
+
+    log.info(format("Estimated Time: %d min, %d sec for %d requests at %.1f requests/sec",
+        SECONDS.toMinutes(totalSeconds),
+        totalSeconds - MINUTES.toSeconds(SECONDS.toMinutes(totalSeconds)),
+        requestCount, client.getRequestsPerSecond()));
   }
 
   private void printFailed() {
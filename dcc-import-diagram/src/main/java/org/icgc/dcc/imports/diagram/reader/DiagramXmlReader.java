@@ -18,25 +18,31 @@
 package org.icgc.dcc.imports.diagram.reader;
 
 import static java.lang.String.format;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.icgc.dcc.imports.diagram.reader.DiagramReader.REACTOME_BASE_URL;
 
 import java.net.URL;
 
-import com.google.common.io.Resources;
-
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 
+@RequiredArgsConstructor
 public class DiagramXmlReader {
 
   private final static String DIAGRAM_XML_URL = REACTOME_BASE_URL + "pathwayDiagram/%s/XML";
 
+  @NonNull
+  private final ReactomeClient client;
+
+  public DiagramXmlReader() {
+    this(new ReactomeClient());
+  }
+
   @SneakyThrows
   public String readPathwayXml(@NonNull String dbId) {
     val url = new URL(format(DIAGRAM_XML_URL, dbId));
-    return Resources.toString(url, UTF_8);
+    return client.getString(url);
   }
 
 }
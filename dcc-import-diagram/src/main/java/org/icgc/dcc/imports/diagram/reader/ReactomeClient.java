@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.icgc.dcc.imports.diagram.reader.ReactomeResponseCache.Entry;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.RateLimiter;
+
+import lombok.Cleanup;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * Shared HTTP access to the Reactome RESTful API.
+ * <p>
+ * All requests of an import draw from a single token bucket so that the aggregate request rate stays polite no matter
+ * how many threads issue them. Responses are always read to the end and closed so that the JDK can return the
+ * underlying connection to its keep-alive pool (sized by the {@code http.maxConnections} system property).
+ * <p>
+ * With a {@link ReactomeResponseCache}, successful responses are stored on disk and revalidated with conditional
+ * requests on later runs, so unchanged resources are not downloaded again. An offline cache is replayed without any
+ * requests.
+ */
+public class ReactomeClient {
+
+  /**
+   * Constants.
+   */
+  public static final double DEFAULT_REQUESTS_PER_SECOND = 5.0;
+  private static final int CONNECT_TIMEOUT_MILLISECONDS = 30 * 1000;
+  private static final int READ_TIMEOUT_MILLISECONDS = 5 * 60 * 1000;
+
+  /**
+   * Dependencies.
+   */
+  @Getter
+  private final ReactomeResponseCache cache;
+
+  /**
+   * State.
+   */
+  private final RateLimiter rateLimiter;
+
+  public ReactomeClient() {
+    this(DEFAULT_REQUESTS_PER_SECOND);
+  }
+
+  public ReactomeClient(double requestsPerSecond) {
+    this(requestsPerSecond, null);
+  }
+
+  public ReactomeClient(double requestsPerSecond, ReactomeResponseCache cache) {
+    checkArgument(requestsPerSecond > 0, "Requests per second must be positive: %s", requestsPerSecond);
+    this.rateLimiter = RateLimiter.create(requestsPerSecond);
+    this.cache = cache;
+  }
+
+  public double getRequestsPerSecond() {
+    return rateLimiter.getRate();
+  }
+
+  /**
+   * @return the body of a successful response
+   * @throws ReactomeResponseException if the response was not successful
+   */
+  public String getString(@NonNull URL url) throws IOException {
+    val response = get(url);
+    if (!response.isSuccessful()) {
+      throw new ReactomeResponseException(url, response.getStatus());
+    }
+
+    return response.getBody();
+  }
+
+  public Response get(@NonNull URL url) throws IOException {
+    if (cache == null) {
+      return fetch(url, null).getResponse();
+    }
+
+    val cached = cache.read(url);
+    if (cache.isOffline()) {
+      if (cached == null) {
+        throw new IOException("No cached response for URL in offline mode: " + url);
+      }
+
+      cache.recordReplayed();
+      return cached.getResponse();
+    }
+
+    val entry = fetch(url, cached);
+    if (entry == cached) {
+      cache.recordRevalidated();
+    } else {
+      cache.recordFetched();
+      if (entry.getResponse().isSuccessful()) {
+        cache.write(url, entry);
+      }
+    }
+
+    return entry.getResponse();
+  }
+
+  /**
+   * @return {@code cached} if the server reports it is still current, otherwise a new entry for the response
+   */
+  private Entry fetch(URL url, Entry cached) throws IOException {
+    rateLimiter.acquire();
+
+    val connection = (HttpURLConnection) url.openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT_MILLISECONDS);
+    connection.setReadTimeout(READ_TIMEOUT_MILLISECONDS);
+    if (cached != null) {
+      if (cached.getEtag() != null) {
+        connection.setRequestProperty("If-None-Match", cached.getEtag());
+      }
+      if (cached.getLastModified() != null) {
+        connection.setRequestProperty("If-Modified-Since", cached.getLastModified());
+      }
+    }
+
+    val status = connection.getResponseCode();
+    val inputStream = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+    String body = "";
+    if (inputStream != null) {
+      @Cleanup
+      val closeable = inputStream;
+      body = new String(ByteStreams.toByteArray(closeable), UTF_8);
+    }
+
+    if (status == HTTP_NOT_MODIFIED && cached != null) {
+      return cached;
+    }
+
+    val response = new Response(status, body);
+    return new Entry(response, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"));
+  }
+
+  @Value
+  public static class Response {
+
+    int status;
+    String body;
+
+    public boolean isSuccessful() {
+      return status >= 200 && status < 300;
+    }
+
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.icgc.dcc.imports.diagram.reader.ReactomeClient.Response;
+
+import com.google.common.hash.Hashing;
+
+import lombok.Cleanup;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * On-disk cache of successful Reactome responses, keyed by URL.
+ * <p>
+ * Each entry keeps the validators ({@code ETag} and {@code Last-Modified}) of the response so that it can be
+ * revalidated with a conditional request. In offline mode entries are replayed without contacting Reactome at all.
+ */
+public class ReactomeResponseCache {
+
+  /**
+   * Constants.
+   */
+  private static final String URL_PROPERTY = "url";
+  private static final String STATUS_PROPERTY = "status";
+  private static final String ETAG_PROPERTY = "etag";
+  private static final String LAST_MODIFIED_PROPERTY = "lastModified";
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final File dir;
+  @Getter
+  private final boolean offline;
+
+  /**
+   * State.
+   */
+  private final AtomicInteger fetchedCount = new AtomicInteger();
+  private final AtomicInteger revalidatedCount = new AtomicInteger();
+  private final AtomicInteger replayedCount = new AtomicInteger();
+
+  public ReactomeResponseCache(@NonNull File dir, boolean offline) {
+    this.dir = dir;
+    this.offline = offline;
+    dir.mkdirs();
+  }
+
+  /**
+   * @return the cached entry for {@code url} or {@code null} if there is none
+   */
+  public Entry read(@NonNull URL url) throws IOException {
+    val metaFile = getMetaFile(url);
+    val bodyFile = getBodyFile(url);
+    if (!metaFile.exists() || !bodyFile.exists()) {
+      return null;
+    }
+
+    val meta = new Properties();
+    @Cleanup
+    val reader = Files.newBufferedReader(metaFile.toPath(), UTF_8);
+    meta.load(reader);
+
+    if (!url.toExternalForm().equals(meta.getProperty(URL_PROPERTY))) {
+      // Hash collision
+      return null;
+    }
+
+    val body = new String(Files.readAllBytes(bodyFile.toPath()), UTF_8);
+    val response = new Response(Integer.parseInt(meta.getProperty(STATUS_PROPERTY)), body);
+
+    return new Entry(response, meta.getProperty(ETAG_PROPERTY), meta.getProperty(LAST_MODIFIED_PROPERTY));
+  }
+
+  public void write(@NonNull URL url, @NonNull Entry entry) throws IOException {
+    // Body first so that a visible meta file always has a complete body
+    writeAtomically(getBodyFile(url), entry.getResponse().getBody().getBytes(UTF_8));
+
+    val meta = new Properties();
+    meta.setProperty(URL_PROPERTY, url.toExternalForm());
+    meta.setProperty(STATUS_PROPERTY, String.valueOf(entry.getResponse().getStatus()));
+    if (entry.getEtag() != null) {
+      meta.setProperty(ETAG_PROPERTY, entry.getEtag());
+    }
+    if (entry.getLastModified() != null) {
+      meta.setProperty(LAST_MODIFIED_PROPERTY, entry.getLastModified());
+    }
+
+    val text = new StringWriter();
+    meta.store(text, null);
+    writeAtomically(getMetaFile(url), text.toString().getBytes(UTF_8));
+  }
+
+  public void recordFetched() {
+    fetchedCount.incrementAndGet();
+  }
+
+  public void recordRevalidated() {
+    revalidatedCount.incrementAndGet();
+  }
+
+  public void recordReplayed() {
+    replayedCount.incrementAndGet();
+  }
+
+  public String getStatistics() {
+    return String.format("%d fetched, %d revalidated, %d replayed", fetchedCount.get(), revalidatedCount.get(),
+        replayedCount.get());
+  }
+
+  private File getMetaFile(URL url) {
+    return new File(dir, getKey(url) + ".properties");
+  }
+
+  private File getBodyFile(URL url) {
+    return new File(dir, getKey(url) + ".body");
+  }
+
+  private static String getKey(URL url) {
+    return Hashing.sha1().hashString(url.toExternalForm(), UTF_8).toString();
+  }
+
+  private void writeAtomically(File file, byte[] bytes) throws IOException {
+    val temp = File.createTempFile(file.getName(), ".tmp", dir);
+    try {
+      Files.write(temp.toPath(), bytes);
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      temp.delete();
+    }
+  }
+
+  @Value
+  public static class Entry {
+
+    @NonNull
+    Response response;
+    String etag;
+    String lastModified;
+
+  }
+
+}
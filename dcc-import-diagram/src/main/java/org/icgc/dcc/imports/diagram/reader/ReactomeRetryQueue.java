@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs Reactome requests on a worker pool and retries failed ones asynchronously.
+ * <p>
+ * A failed attempt is rescheduled with exponential backoff and "equal" jitter rather than retried in place, so its
+ * worker moves on to other requests and retries overlap with the main fetch. Server errors and I/O failures are
+ * retried; client errors (e.g. 404) are not. Success, retry and latency statistics are kept per endpoint.
+ */
+@Slf4j
+public class ReactomeRetryQueue implements Closeable {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 4;
+  public static final long DEFAULT_BASE_DELAY_MILLISECONDS = 1000;
+  private static final long MAX_DELAY_MILLISECONDS = 60 * 1000;
+
+  /**
+   * Configuration.
+   */
+  private final int maxAttempts;
+  private final long baseDelayMillis;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final Executor executor;
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("reactome-retry-%d").setDaemon(true).build());
+
+  /**
+   * State.
+   */
+  private final ConcurrentMap<String, EndpointStatistics> statistics = Maps.newConcurrentMap();
+
+  public ReactomeRetryQueue(@NonNull Executor executor) {
+    this(executor, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MILLISECONDS);
+  }
+
+  public ReactomeRetryQueue(@NonNull Executor executor, int maxAttempts, long baseDelayMillis) {
+    this.executor = executor;
+    this.maxAttempts = maxAttempts;
+    this.baseDelayMillis = baseDelayMillis;
+  }
+
+  public <T> Future<T> submit(@NonNull String endpoint, @NonNull Callable<T> request) {
+    val future = new CompletableFuture<T>();
+    executor.execute(() -> attempt(endpoint, request, future, 1));
+
+    return future;
+  }
+
+  public void logStatistics() {
+    for (val entry : ImmutableSortedMap.copyOf(statistics).entrySet()) {
+      log.info("[{}] {}", entry.getKey(), entry.getValue());
+    }
+  }
+
+  public Map<String, EndpointStatistics> getStatistics() {
+    return ImmutableSortedMap.copyOf(statistics);
+  }
+
+  @Override
+  public void close() throws IOException {
+    scheduler.shutdownNow();
+  }
+
+  private <T> void attempt(String endpoint, Callable<T> request, CompletableFuture<T> future, int attempt) {
+    val endpointStatistics = statistics.computeIfAbsent(endpoint, key -> new EndpointStatistics());
+    val watch = Stopwatch.createStarted();
+    try {
+      T result = request.call();
+      endpointStatistics.recordAttempt(watch.elapsed(MILLISECONDS), true);
+      future.complete(result);
+    } catch (Exception e) {
+      endpointStatistics.recordAttempt(watch.elapsed(MILLISECONDS), false);
+      if (attempt < maxAttempts && isRetryable(e)) {
+        val delay = getDelayMillis(attempt);
+        endpointStatistics.retries.incrementAndGet();
+        log.warn("[{}] Attempt {} of {} failed: {}. Retrying in {} ms", endpoint, attempt, maxAttempts, e.getMessage(),
+            delay);
+
+        scheduler.schedule(() -> executor.execute(() -> attempt(endpoint, request, future, attempt + 1)), delay,
+            MILLISECONDS);
+      } else {
+        endpointStatistics.failures.incrementAndGet();
+        future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private long getDelayMillis(int attempt) {
+    val delay = Math.min(MAX_DELAY_MILLISECONDS, baseDelayMillis << (attempt - 1));
+    val half = delay / 2;
+
+    return half + ThreadLocalRandom.current().nextLong(half + 1);
+  }
+
+  private static boolean isRetryable(Exception e) {
+    if (e instanceof ReactomeResponseException) {
+      return ((ReactomeResponseException) e).isServerError();
+    }
+
+    return e instanceof IOException;
+  }
+
+  /**
+   * Attempt counts and latencies of a single endpoint.
+   */
+  public static class EndpointStatistics {
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    public long getSuccesses() {
+      return successes.get();
+    }
+
+    public long getRetries() {
+      return retries.get();
+    }
+
+    public long getFailures() {
+      return failures.get();
+    }
+
+    private void recordAttempt(long latencyMillis, boolean success) {
+      attempts.incrementAndGet();
+      if (success) {
+        successes.incrementAndGet();
+      }
+
+      totalLatencyMillis.addAndGet(latencyMillis);
+      maxLatencyMillis.accumulateAndGet(latencyMillis, Math::max);
+    }
+
+    @Override
+    public String toString() {
+      val attemptCount = attempts.get();
+      val meanLatencyMillis = attemptCount == 0 ? 0 : totalLatencyMillis.get() / attemptCount;
+
+      return String.format("%d attempts: %d succeeded, %d retried, %d failed; latency mean %d ms, max %d ms",
+          attemptCount, successes.get(), retries.get(), failures.get(), meanLatencyMillis, maxLatencyMillis.get());
+    }
+
+  }
+
+}
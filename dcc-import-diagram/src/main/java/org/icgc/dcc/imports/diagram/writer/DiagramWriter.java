@@ -17,6 +17,13 @@
  */
 package org.icgc.dcc.imports.diagram.writer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.icgc.dcc.common.core.model.FieldNames.DIAGRAM_XML;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_FILE;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_GZIP;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_SIZE;
+import static org.icgc.dcc.imports.diagram.model.DiagramXmlCodec.compressXml;
+
 import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -27,20 +34,58 @@ import org.icgc.dcc.imports.diagram.model.DiagramModel;
 import org.icgc.dcc.imports.diagram.model.DiagramNodeConverter;
 import org.jongo.MongoCollection;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mongodb.BasicDBObject;
 import com.mongodb.MongoClientURI;
+import com.mongodb.gridfs.GridFS;
 
+/**
+ * Writes the diagram model.
+ * <p>
+ * Non-diagrammed pathways share the XML and protein map of their diagrammed parent. Unless {@code denormalize} is set,
+ * these are stored once on the parent's document and the others hold only their highlights and a reference (see
+ * {@link org.icgc.dcc.imports.diagram.model.DiagramNodeResolver}).
+ * <p>
+ * With {@code compressXml}, diagram XML is gzipped. Payloads up to {@link #GRID_FS_THRESHOLD_BYTES} stay inline and
+ * larger ones are moved to the {@link #XML_BUCKET_SUFFIX} GridFS bucket, leaving the rest of the document inline. Use
+ * {@link org.icgc.dcc.imports.diagram.model.DiagramNodeResolver#resolveXml} to read either form.
+ */
 @Slf4j
 public class DiagramWriter extends AbstractJongoWriter<DiagramModel> {
 
+  /**
+   * Constants.
+   */
+  public static final int GRID_FS_THRESHOLD_BYTES = 1024 * 1024;
+  public static final String XML_BUCKET_SUFFIX = "_xml";
+
+  /**
+   * Configuration.
+   */
+  private final boolean denormalize;
+  private final boolean compressXml;
+
   private MongoCollection diagramCollection;
+  private GridFS xmlBucket;
 
   public DiagramWriter(@NonNull MongoClientURI mongoUri) {
+    this(mongoUri, false);
+  }
+
+  public DiagramWriter(@NonNull MongoClientURI mongoUri, boolean denormalize) {
+    this(mongoUri, denormalize, false);
+  }
+
+  public DiagramWriter(@NonNull MongoClientURI mongoUri, boolean denormalize, boolean compressXml) {
     super(mongoUri);
+    this.denormalize = denormalize;
+    this.compressXml = compressXml;
   }
 
   @Override
   public void writeValue(@NonNull DiagramModel value) {
     diagramCollection = getCollection(ReleaseCollection.DIAGRAM_COLLECTION);
+    xmlBucket = new GridFS(jongo.getDatabase(), diagramCollection.getName() + XML_BUCKET_SUFFIX);
 
     log.info("Droppping current diagram collection..");
     dropCollection();
@@ -51,6 +96,7 @@ public class DiagramWriter extends AbstractJongoWriter<DiagramModel> {
 
   private void dropCollection() {
     diagramCollection.drop();
+    xmlBucket.remove(new BasicDBObject());
   }
 
   private void saveCollection(DiagramModel value) {
@@ -59,7 +105,35 @@ public class DiagramWriter extends AbstractJongoWriter<DiagramModel> {
     for (val entry : value.getDiagrams().entrySet()) {
       val diagram = entry.getValue();
       val id = entry.getKey();
-      diagramCollection.save(converter.convertDiagram(diagram, id));
+      val reference = !denormalize && diagram.getParentId() != null;
+      val node = reference ? converter.convertDiagramReference(diagram, id) : converter.convertDiagram(diagram, id);
+      if (compressXml) {
+        storeCompressedXml((ObjectNode) node, id);
+      }
+
+      diagramCollection.save(node);
+    }
+  }
+
+  private void storeCompressedXml(ObjectNode node, String id) {
+    if (!node.hasNonNull(DIAGRAM_XML)) {
+      return;
+    }
+
+    val xml = node.remove(DIAGRAM_XML).asText();
+    val bytes = xml.getBytes(UTF_8);
+    val compressed = compressXml(bytes);
+    node.put(DIAGRAM_XML_SIZE, bytes.length);
+
+    if (compressed.length <= GRID_FS_THRESHOLD_BYTES) {
+      node.put(DIAGRAM_XML_GZIP, compressed);
+    } else {
+      val file = xmlBucket.createFile(compressed);
+      file.setFilename(id);
+      file.setContentType("application/gzip");
+      file.save();
+
+      node.put(DIAGRAM_XML_FILE, id);
     }
   }
 
@@ -27,6 +27,7 @@ import org.elasticsearch.common.collect.Maps;
 import org.junit.Test;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
 
 import lombok.SneakyThrows;
@@ -56,6 +57,21 @@ public class DiagramNodeConverterTest {
         "{\"_id\":\"REACT\",\"diagram_id\":\"REACT\",\"xml\":\"id\",\"highlights\":[]}");
   }
 
+  @Test
+  public void testConvertAndResolveDiagramReference() {
+    val converter = new DiagramNodeConverter();
+    val parent = (ObjectNode) converter.convertDiagram(getTestDiagram("id", emptyList(), true), "PARENT");
+    val diagram = getTestDiagram("id", ImmutableList.of("123"), true);
+    diagram.setParentId("PARENT");
+
+    val reference = (ObjectNode) converter.convertDiagramReference(diagram, "REACT");
+    assertThat(toString(reference)).isEqualTo(
+        "{\"_id\":\"REACT\",\"diagram_id\":\"REACT\",\"highlights\":[\"123\"],\"parent_diagram_id\":\"PARENT\"}");
+
+    val resolved = DiagramNodeResolver.resolveDiagram(reference, id -> id.equals("PARENT") ? parent : null);
+    assertThat(resolved).isEqualTo(converter.convertDiagram(diagram, "REACT"));
+  }
+
   private Diagram getTestDiagram(String xml, List<String> highlights, boolean proteins) {
     val diagram = new Diagram();
     diagram.setDiagram(xml);
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
+import static org.icgc.dcc.imports.diagram.model.DiagramNodeConverter.DIAGRAM_XML_GZIP;
+import static org.icgc.dcc.imports.diagram.model.DiagramXmlCodec.compressXml;
+import static org.icgc.dcc.imports.diagram.model.DiagramXmlCodec.decompressXml;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+import lombok.val;
+
+public class DiagramXmlCodecTest {
+
+  @Test
+  public void testRoundTrip() {
+    val xml = "<Process>" + Strings.repeat("<Node id=\"1\" x=\"10\" y=\"20\"/>", 1000) + "</Process>";
+    val compressed = compressXml(xml);
+
+    assertThat(compressed.length).isLessThan(xml.length() / 10);
+    assertThat(decompressXml(compressed)).isEqualTo(xml);
+  }
+
+  @Test
+  public void testResolveCompressedXml() {
+    val node = DEFAULT.createObjectNode();
+    node.put(DIAGRAM_XML_GZIP, compressXml("<Process/>"));
+
+    assertThat(DiagramNodeResolver.resolveXml(node, null)).isEqualTo("<Process/>");
+  }
+
+}
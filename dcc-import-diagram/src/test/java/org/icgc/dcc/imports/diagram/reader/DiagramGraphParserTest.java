@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.val;
+
+public class DiagramGraphParserTest {
+
+  @Test
+  public void testParse() {
+    val xml = "<Process reactomeId=\"1\">"
+        + "<Nodes>"
+        + "<org.gk.render.RenderableProtein id=\"10\" reactomeId=\"100\" bounds=\"1 2 30 40\"/>"
+        + "<org.gk.render.RenderableComplex id=\"11\" reactomeId=\"101\" position=\"5 6\">"
+        + "<Components><Component id=\"10\"/></Components>"
+        + "</org.gk.render.RenderableComplex>"
+        + "</Nodes>"
+        + "<Edges>"
+        + "<org.gk.render.RenderableReaction id=\"20\" reactomeId=\"200\">"
+        + "<Inputs><Input id=\"10\"/></Inputs>"
+        + "<Outputs><Output id=\"11\"/><Output id=\"99\"/></Outputs>"
+        + "</org.gk.render.RenderableReaction>"
+        + "</Edges>"
+        + "</Process>";
+
+    val graph = new DiagramGraphParser().parse(xml, ImmutableMap.of("100", ImmutableList.of("P12345")));
+
+    assertThat(graph.getTypes()).containsExactly("Protein", "Complex", "Reaction");
+    assertThat(graph.getNodeIds()).containsExactly(10, 11);
+    assertThat(graph.getNodeReactomeIds()).containsExactly(100L, 101L);
+    assertThat(graph.getNodeTypes()).containsExactly(0, 1);
+    assertThat(graph.getNodeX()).containsExactly(1, 5);
+    assertThat(graph.getNodeHeight()).containsExactly(40, 0);
+    assertThat(graph.getNodeUniprotIds()).containsExactly(ImmutableList.of("P12345"), ImmutableList.<String> of());
+    assertThat(graph.getReactionIds()).containsExactly(20);
+    assertThat(graph.getReactionTypes()).containsExactly(2);
+    assertThat(graph.getRoles()).containsExactly("input", "output");
+    assertThat(graph.getEdgeReactions()).containsExactly(0, 0);
+    assertThat(graph.getEdgeNodes()).containsExactly(0, 1);
+    assertThat(graph.getEdgeRoles()).containsExactly(0, 1);
+  }
+
+  @Test
+  public void testParseInvalid() {
+    assertThat(new DiagramGraphParser().parse("<Process>", ImmutableMap.of())).isNull();
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+
+import org.icgc.dcc.imports.diagram.reader.ReactomeClient.Response;
+import org.icgc.dcc.imports.diagram.reader.ReactomeResponseCache.Entry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import lombok.val;
+
+public class ReactomeResponseCacheTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testReadWrite() throws IOException {
+    val cache = new ReactomeResponseCache(tmp.getRoot(), false);
+    val url = new URL("http://localhost/pathwayDiagram/123/XML");
+    val entry = new Entry(new Response(200, "<xml/>"), "\"abc\"", "Mon, 01 Jan 2018 00:00:00 GMT");
+
+    assertThat(cache.read(url)).isNull();
+
+    cache.write(url, entry);
+
+    assertThat(cache.read(url)).isEqualTo(entry);
+    assertThat(cache.read(new URL("http://localhost/pathwayDiagram/456/XML"))).isNull();
+  }
+
+  @Test
+  public void testOfflineClientReplays() throws IOException {
+    val url = new URL("http://localhost/getContainedEventIds/123");
+    new ReactomeResponseCache(tmp.getRoot(), false).write(url, new Entry(new Response(200, "1,2"), null, null));
+
+    val client = new ReactomeClient(1.0, new ReactomeResponseCache(tmp.getRoot(), true));
+
+    assertThat(client.getString(url)).isEqualTo("1,2");
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.diagram.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lombok.Cleanup;
+import lombok.val;
+
+public class ReactomeRetryQueueTest {
+
+  @Test
+  public void testSubmitRetriesServerErrors() throws Exception {
+    @Cleanup("shutdownNow")
+    val executor = Executors.newFixedThreadPool(2);
+    @Cleanup
+    val queue = new ReactomeRetryQueue(executor, 3, 1);
+
+    val calls = new AtomicInteger();
+    val future = queue.submit("test", () -> {
+      if (calls.incrementAndGet() < 3) {
+        throw new ReactomeResponseException(new URL("http://localhost/test"), 503);
+      }
+
+      return "ok";
+    });
+
+    assertThat(future.get()).isEqualTo("ok");
+    assertThat(calls.get()).isEqualTo(3);
+
+    val statistics = queue.getStatistics().get("test");
+    assertThat(statistics.getSuccesses()).isEqualTo(1);
+    assertThat(statistics.getRetries()).isEqualTo(2);
+    assertThat(statistics.getFailures()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSubmitDoesNotRetryClientErrors() throws Exception {
+    @Cleanup("shutdownNow")
+    val executor = Executors.newFixedThreadPool(2);
+    @Cleanup
+    val queue = new ReactomeRetryQueue(executor, 3, 1);
+
+    val calls = new AtomicInteger();
+    val future = queue.submit("test", () -> {
+      calls.incrementAndGet();
+      throw new ReactomeResponseException(new URL("http://localhost/test"), 404);
+    });
+
+    try {
+      future.get();
+      fail("Expected client error to fail the request");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(ReactomeResponseException.class);
+    }
+
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(queue.getStatistics().get("test").getFailures()).isEqualTo(1);
+  }
+
+}
@@ -19,14 +19,20 @@ package org.icgc.dcc.imports.drug;
 
 import static com.google.common.base.Stopwatch.createStarted;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.imports.core.util.StageExecutor.join;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import org.icgc.dcc.imports.core.SourceImporter;
 import org.icgc.dcc.imports.core.model.ImportSource;
+import org.icgc.dcc.imports.core.util.StageExecutor;
 import org.icgc.dcc.imports.drug.core.DrugProcessor;
+import org.icgc.dcc.imports.drug.reader.ConditionsReader;
 import org.icgc.dcc.imports.drug.reader.DrugReader;
 import org.icgc.dcc.imports.drug.reader.GeneReader;
 import org.icgc.dcc.imports.drug.reader.TrialsReader;
@@ -44,6 +50,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DrugImporter implements SourceImporter {
 
+  /**
+   * Constants.
+   */
+  private static final int STAGE_THREAD_COUNT = 4;
+
+  /**
+   * Stores full trials once in their own collection and only trial summaries in drugs.
+   */
+  public final static String NORMALIZE_TRIALS = DrugImporter.class.getName() + ".normalizeTrials";
+
   /**
    * Dependencies
    */
@@ -63,43 +79,57 @@ public class DrugImporter implements SourceImporter {
   @SneakyThrows
   public void execute() {
     val watch = createStarted();
-    log.info("Reading drugs...");
-    val drugs = readDrugs();
+
+    @Cleanup
+    val stages = new StageExecutor("drug", STAGE_THREAD_COUNT);
+
+    // Independent exports are fetched concurrently
+    val drugsStage = stages.submit("drugs", () -> readDrugs());
+    val conditionsStage = stages.submit("conditions", () -> new ConditionsReader().getConditionsAsMap());
+    val trialsStage = stages.submit("trials", () -> readTrialMap(conditionsStage));
+    val genesStage = stages.submit("genes", () -> readGeneMap());
+
+    val normalizeTrials = Boolean.getBoolean(NORMALIZE_TRIALS);
+    val trialMap = join(trialsStage);
+    val processor = new DrugProcessor(join(genesStage), trialMap, normalizeTrials);
+
+    val drugs = join(drugsStage);
     log.info("Finished reading {} drugs", formatCount(drugs));
 
-    log.info("Processing drugs...");
-    val processed = process(drugs);
-    log.info("Finished processing {} drugs", formatCount(processed));
-    
-    log.info("Writing drugs...");
-    writeDrugs(processed);
-    log.info("Finished writing {} drugs", formatCount(processed));
-    
-    log.info("Imported {} drugs in {}.",formatCount(processed), watch);
+    log.info("Processing and writing drugs...");
+    val drugCount = writeDrugs(processor.process(drugs), normalizeTrials ? trialMap.values() : null);
+
+    log.info("Imported {} drugs in {}.", formatCount(drugCount), watch);
   }
 
   private List<ObjectNode> readDrugs() throws IOException {
     return new DrugReader().readDrugs();
   }
 
-  private Map<String, ObjectNode> readTrialMap() {
-    return new TrialsReader().getTrialsMap();
+  private Map<String, ObjectNode> readTrialMap(Future<Map<String, ObjectNode>> conditionsStage) {
+    val reader = new TrialsReader();
+
+    // Download trials before waiting on conditions
+    val trials = reader.readTrials();
+    return reader.createTrialsMap(trials, join(conditionsStage));
   }
 
   private Map<String, ObjectNode> readGeneMap() {
     return new GeneReader(mongoUri).readGeneMap();
   }
 
-  private List<ObjectNode> process( List<ObjectNode> drugs) {
-    val processor = new DrugProcessor(readGeneMap(), readTrialMap());
-    return processor.process(drugs);
-  }
-
   @SneakyThrows
-  private void writeDrugs(List<ObjectNode> drugs) {
+  private int writeDrugs(Stream<ObjectNode> drugs, Collection<ObjectNode> trials) {
     @Cleanup
     val drugWriter = new DrugWriter(mongoUri);
-    drugWriter.writeValue(drugs);
+    val drugCount = drugWriter.writeDrugs(drugs);
+    if (trials != null) {
+      drugWriter.writeTrials(trials);
+    } else {
+      drugWriter.dropTrials();
+    }
+
+    return drugCount;
   }
 
 }
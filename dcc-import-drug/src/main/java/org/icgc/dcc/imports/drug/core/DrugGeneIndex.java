@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.drug.core;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.icgc.dcc.imports.drug.util.Drugs.getDrugGeneId;
+import static org.icgc.dcc.imports.drug.util.Drugs.getDrugGenes;
+import static org.icgc.dcc.imports.drug.util.Drugs.getName;
+import static org.icgc.dcc.imports.drug.util.Drugs.getZincId;
+import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.DIRECT;
+import static org.icgc.dcc.imports.geneset.model.GeneSetType.DRUG;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.icgc.dcc.imports.geneset.model.gene.GeneGeneSet;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Inverted index from Ensembl gene id to the drug gene sets of the drugs targeting that gene.
+ * <p>
+ * Built in a single pass over the processed drugs so that only genes which actually have drugs need to be updated.
+ */
+public class DrugGeneIndex {
+
+  /**
+   * State.
+   */
+  private final SetMultimap<String, GeneGeneSet> geneSets = LinkedHashMultimap.create();
+
+  public static DrugGeneIndex create(@NonNull Iterable<ObjectNode> drugs) {
+    val index = new DrugGeneIndex();
+    for (val drug : drugs) {
+      index.add(drug);
+    }
+
+    return index;
+  }
+
+  public synchronized void add(@NonNull ObjectNode drug) {
+    GeneGeneSet geneSet = null;
+    for (val drugGene : getDrugGenes(drug)) {
+      val geneId = getDrugGeneId(drugGene);
+      if (isNullOrEmpty(geneId)) {
+        // Not matched to an ICGC gene
+        continue;
+      }
+
+      if (geneSet == null) {
+        geneSet = createGeneSet(drug);
+      }
+
+      geneSets.put(geneId, geneSet);
+    }
+  }
+
+  public synchronized Map<String, Collection<GeneGeneSet>> getGeneSets() {
+    return geneSets.asMap();
+  }
+
+  public synchronized int getGeneCount() {
+    return geneSets.keySet().size();
+  }
+
+  private static GeneGeneSet createGeneSet(ObjectNode drug) {
+    return GeneGeneSet.builder()
+        .id(getZincId(drug))
+        .name(getName(drug))
+        .type(DRUG)
+        .annotation(DIRECT)
+        .build();
+  }
+
+}
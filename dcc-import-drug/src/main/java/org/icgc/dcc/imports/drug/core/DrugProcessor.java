@@ -17,10 +17,10 @@
  */
 package org.icgc.dcc.imports.drug.core;
 
-import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
-
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -61,6 +61,11 @@ public class DrugProcessor  {
       "large_image_url",
       "cancer_trial_count",
       "_id");
+  private final static List<String> TRIAL_SUMMARY_FIELDS = ImmutableList.<String> of(
+      "code",
+      "description",
+      "phase_name",
+      "status_name");
   
   /**
    * Dependencies.
@@ -69,17 +74,40 @@ public class DrugProcessor  {
   private final Map<String, ObjectNode> geneMap;
   @NonNull
   private final Map<String, ObjectNode> trialMap;
+
+  /**
+   * Configuration.
+   */
+  private final boolean normalizeTrials;
+
+  public DrugProcessor(@NonNull Map<String, ObjectNode> geneMap, @NonNull Map<String, ObjectNode> trialMap) {
+    this(geneMap, trialMap, false);
+  }
   
-  public List<ObjectNode> process(List<ObjectNode> drugs) {
-    return drugs.stream()
+  /**
+   * Lazily transforms {@code drugs} in parallel. Each step only touches its own drug, so the stream may be consumed
+   * concurrently.
+   */
+  public Stream<ObjectNode> process(Collection<ObjectNode> drugs) {
+    cleanGenes();
+
+    return drugs.parallelStream()
     .map(this::expandImageUrls)
     .map(this::joinGenes)
     .map(this::joinTrials)
     .map(this::denormalizeAtcCodes)
     .map(this::cleanSynonyms)
     .map(this::cleanDrug)
-    .filter(DrugFilter::filter)
-    .collect(toImmutableList());
+    .filter(DrugFilter::filter);
+  }
+
+  /**
+   * Strips the joined genes once up front since they are shared between drugs.
+   */
+  private void cleanGenes() {
+    for (val gene : geneMap.values()) {
+      gene.remove(EXCLUDED_GENE_FIELDS);
+    }
   }
 
   /**
@@ -107,7 +135,7 @@ public class DrugProcessor  {
       for (val geneName : drugGenes) {
         val gene = geneMap.get(geneName.asText());
         if (gene != null) {
-          geneArray.add(gene.remove(EXCLUDED_GENE_FIELDS));
+          geneArray.add(gene);
         } else {
           log.warn("Gene missing on join: {}", geneName.asText());
         }
@@ -120,7 +148,8 @@ public class DrugProcessor  {
   }
 
   /**
-   * Joins trials to Drugs by trial code. Trials will be already joined with conditions.
+   * Joins trials to Drugs by trial code. Trials will be already joined with conditions. When normalizing, only a
+   * summary of each trial is embedded and the full trials are written to their own collection.
    */
   private  ObjectNode joinTrials(ObjectNode drug) {
     val drugTrials = drug.get("trials");
@@ -130,7 +159,7 @@ public class DrugProcessor  {
       for (val trialCode : drugTrials) {
         val trial = trialMap.get(trialCode.asText());
         if (trial != null) {
-          trialsArray.add(trial);
+          trialsArray.add(normalizeTrials ? createTrialSummary(trial) : trial);
         } else {
           log.warn("Trail missing on join: {}", trialCode.asText());
         }
@@ -143,6 +172,18 @@ public class DrugProcessor  {
     return drug;
   }
 
+  private static ObjectNode createTrialSummary(ObjectNode trial) {
+    val summary = MAPPER.createObjectNode();
+    for (val fieldName : TRIAL_SUMMARY_FIELDS) {
+      val value = trial.get(fieldName);
+      if (value != null) {
+        summary.set(fieldName, value);
+      }
+    }
+
+    return summary;
+  }
+
   /**
    * Removes synonyms that match drug name
    */
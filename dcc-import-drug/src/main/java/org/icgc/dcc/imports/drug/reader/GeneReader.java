@@ -19,6 +19,8 @@ package org.icgc.dcc.imports.drug.reader;
 
 import static org.icgc.dcc.common.core.model.FieldNames.GENE_UNIPROT_IDS;
 import static org.icgc.dcc.common.core.model.FieldNames.LoaderFieldNames.GENE_ID;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.imports.core.util.Genes.getGeneUniprotIds;
 import static org.icgc.dcc.imports.core.util.Jongos.createJongo;
 
 import java.io.IOException;
@@ -28,7 +30,6 @@ import java.util.Map;
 
 import org.icgc.dcc.common.core.model.ReleaseCollection;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mongodb.MongoClientURI;
 
@@ -61,25 +62,57 @@ public class GeneReader extends Reader {
   
   @SneakyThrows
   public Map<String, ObjectNode> readGeneMap() {
+    log.info("Reading gene uniprot index...");
+    val geneIds = readGeneIdsByUniprot();
+    log.info("Read {} uniprot ids", formatCount(geneIds.size()));
+
     log.info("Reading genes...");
-    val jongo = createJongo(mongoUri);
-    
-    val geneCollection = jongo.getCollection(ReleaseCollection.GENE_COLLECTION.getId());
-    
+    int hits = 0;
+    int misses = 0;
     val geneMap = new HashMap<String, ObjectNode>();
-    getJson().forEachRemaining(gene -> {
+    for (val gene : getJson().readAll()) {
       if (gene.get(NAME).asText().contains("HUMAN")) {
-        JsonNode icgcGene = geneCollection.findOne("{#:#}", GENE_UNIPROT_IDS, gene.get(UNIPROT).asText()).as(JsonNode.class);
-        if (icgcGene!=null) {
-          gene.put(ENSEMBLE_ID, icgcGene.get(GENE_ID).asText());
+        val uniprot = gene.get(UNIPROT).asText();
+        val geneId = geneIds.get(uniprot);
+        if (geneId != null) {
+          gene.put(ENSEMBLE_ID, geneId);
+          hits++;
         } else {
-          log.warn("Could not find matching ICGC Gene for uniprot value: {}", gene.get(UNIPROT).asText());
+          log.warn("Could not find matching ICGC Gene for uniprot value: {}", uniprot);
           gene.put(ENSEMBLE_ID, "");
+          misses++;
         }
         geneMap.put(gene.get(GENE_NAME).asText(), gene);
       }
-    });
-    
+    }
+
+    log.info("Resolved {} human genes by uniprot: {} hits, {} misses", formatCount(hits + misses), formatCount(hits),
+        formatCount(misses));
+
     return geneMap;
-  } 
+  }
+
+  /**
+   * Reads the ICGC gene id of each uniprot id in a single projected scan of the gene collection, rather than one query
+   * per ZINC gene. Like {@code findOne}, the first gene in natural order wins when a uniprot id is shared.
+   */
+  private Map<String, String> readGeneIdsByUniprot() {
+    val jongo = createJongo(mongoUri);
+    val geneCollection = jongo.getCollection(ReleaseCollection.GENE_COLLECTION.getId());
+
+    val geneIds = new HashMap<String, String>();
+    val genes = geneCollection
+        .find("{ " + GENE_UNIPROT_IDS + ": { $ne : null } }")
+        .projection("{ _id: 0, " + GENE_ID + ": 1, " + GENE_UNIPROT_IDS + ": 1 }")
+        .as(ObjectNode.class);
+    for (val gene : genes) {
+      val geneId = gene.get(GENE_ID).asText();
+      for (val uniprot : getGeneUniprotIds(gene)) {
+        geneIds.putIfAbsent(uniprot, geneId);
+      }
+    }
+
+    return geneIds;
+  }
+
 }
@@ -18,6 +18,7 @@
 package org.icgc.dcc.imports.drug.reader;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.MappingIterator;
@@ -25,6 +26,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import lombok.SneakyThrows;
 import lombok.val;
 
 public class TrialsReader extends Reader {
@@ -50,13 +52,28 @@ public class TrialsReader extends Reader {
    * @return HashMap of trials keyed off of trial code.
    */
   public Map<String, ObjectNode> getTrialsMap() {
+    return createTrialsMap(readTrials(), new ConditionsReader().getConditionsAsMap());
+  }
+
+  /**
+   * Reads the raw trials so that they can be fetched concurrently with the conditions.
+   */
+  @SneakyThrows
+  public List<ObjectNode> readTrials() {
+    return getJson().readAll();
+  }
+
+  /**
+   * Cleans and joins the conditions of the given raw trials.
+   * @return HashMap of trials keyed off of trial code.
+   */
+  public Map<String, ObjectNode> createTrialsMap(List<ObjectNode> trials, Map<String, ObjectNode> conditions) {
     val trialsMap = new HashMap<String, ObjectNode>();
-    val conditions = new ConditionsReader().getConditionsAsMap();
-    getJson().forEachRemaining(trial -> {    
+    for (val trial : trials) {
       cleanDrugMappings(trial);
       joinConditions(trial, conditions);
       trialsMap.put(trial.get("code").asText(), trial);
-    });
+    }
     
     return trialsMap;
   }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.drug.writer;
+
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteException;
+import com.mongodb.DBCollection;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers documents from concurrent producers and upserts them by {@code _id} in unordered bulk batches.
+ * <p>
+ * A full batch is handed off outside of the buffer lock so several batches may be in flight. Write errors are collected
+ * and logged once per batch.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DrugBulkWriter {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final DBCollection collection;
+
+  /**
+   * Configuration.
+   */
+  private final int batchSize;
+
+  /**
+   * State.
+   */
+  private List<ObjectNode> batch = Lists.newArrayList();
+  private final AtomicInteger batchCount = new AtomicInteger();
+  private final AtomicInteger writeCount = new AtomicInteger();
+  private final AtomicInteger errorCount = new AtomicInteger();
+
+  public DrugBulkWriter(@NonNull DBCollection collection) {
+    this(collection, DEFAULT_BATCH_SIZE);
+  }
+
+  public void add(@NonNull ObjectNode document) {
+    List<ObjectNode> full = null;
+    synchronized (this) {
+      batch.add(document);
+      if (batch.size() >= batchSize) {
+        full = batch;
+        batch = Lists.newArrayList();
+      }
+    }
+
+    if (full != null) {
+      write(full);
+    }
+  }
+
+  public void flush() {
+    List<ObjectNode> remaining;
+    synchronized (this) {
+      remaining = batch;
+      batch = Lists.newArrayList();
+    }
+
+    if (!remaining.isEmpty()) {
+      write(remaining);
+    }
+  }
+
+  public int getWriteCount() {
+    return writeCount.get();
+  }
+
+  public int getErrorCount() {
+    return errorCount.get();
+  }
+
+  private void write(List<ObjectNode> documents) {
+    val batchNumber = batchCount.incrementAndGet();
+    val bulk = collection.initializeUnorderedBulkOperation();
+    for (val document : documents) {
+      val dbObject = MAPPER.convertValue(document, BasicDBObject.class);
+      bulk.find(new BasicDBObject("_id", dbObject.get("_id"))).upsert().replaceOne(dbObject);
+    }
+
+    try {
+      bulk.execute();
+      writeCount.addAndGet(documents.size());
+    } catch (BulkWriteException e) {
+      val errors = e.getWriteErrors();
+      writeCount.addAndGet(documents.size() - errors.size());
+      errorCount.addAndGet(errors.size());
+
+      if (!errors.isEmpty()) {
+        val first = errors.get(0);
+        log.warn("Batch {}: {} of {} documents failed. First error at index {}: {}", batchNumber, errors.size(),
+            documents.size(), first.getIndex(), first.getMessage());
+      }
+
+      // Documents are applied even when the requested write concern could not be satisfied
+      val concernError = e.getWriteConcernError();
+      if (concernError != null) {
+        log.warn("Batch {}: write concern error: {}", batchNumber, concernError.getMessage());
+      }
+    }
+
+    log.info("Wrote batch {} ({} documents total)", batchNumber, formatCount(writeCount.get()));
+  }
+
+}
@@ -10,32 +10,28 @@
  * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
  * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
  * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
- * TO, PROCUREMENT OF SUBSTITUTE drugODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
  * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 package org.icgc.dcc.imports.drug.writer;
 
+import static org.icgc.dcc.common.core.model.FieldNames.GENE_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.GENE_UNIPROT_IDS;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
-import static org.icgc.dcc.imports.core.util.Genes.getGeneId;
-import static org.icgc.dcc.imports.drug.util.Drugs.getDrugGeneId;
-import static org.icgc.dcc.imports.drug.util.Drugs.getDrugGenes;
-import static org.icgc.dcc.imports.drug.util.Drugs.getName;
-import static org.icgc.dcc.imports.drug.util.Drugs.getZincId;
-import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.DIRECT;
 import static org.icgc.dcc.imports.geneset.model.GeneSetType.DRUG;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
-import org.icgc.dcc.imports.geneset.model.GeneSetType;
+import org.icgc.dcc.imports.drug.core.DrugGeneIndex;
 import org.icgc.dcc.imports.geneset.model.gene.GeneGeneSet;
 import org.icgc.dcc.imports.geneset.writer.AbstractGeneGeneSetWriter;
 import org.jongo.MongoCollection;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableList;
 
 import lombok.NonNull;
 import lombok.val;
@@ -49,52 +45,41 @@ public class DrugGeneGeneSetWriter extends AbstractGeneGeneSetWriter {
   }
 
   public void write(@NonNull List<ObjectNode> drugs) {
+    write(DrugGeneIndex.create(drugs));
+  }
+
+  public void write(@NonNull DrugGeneIndex index) {
     log.info("Clearing gene drug gene sets...");
     clearGeneGeneSets();
 
-    log.info("Adding drugs to gene documents...");
+    log.info("Adding drugs to {} gene documents...", formatCount(index.getGeneCount()));
     int updateGeneCount = 0;
-    
-    for (val gene : getGeneWithUniprots()) {
-      val geneId = getGeneId(gene);
+    for (val entry : index.getGeneSets().entrySet()) {
+      val geneId = entry.getKey();
+      val geneSets = entry.getValue();
 
-      val geneSets = resolveGeneSets(drugs, geneId);
-      if (!geneSets.isEmpty()) {
-        addGeneSets(gene, geneSets);
-        saveGene(gene);
-        
-        updateGeneCount++;
-        val status = updateGeneCount % 100 == 0;
-        if (status) {
-          log.info("Updated drugs for {} genes", formatCount(updateGeneCount));
-        }
+      val n = updateGeneGeneSets(geneId, geneSets);
+      if (n == 0) {
+        log.warn("Could not find gene with uniprots for gene id {}", geneId);
+        continue;
       }
-    }
-    
-    log.info("Finished writing drugs for {} genes total", formatCount(updateGeneCount));
-  }
 
-  private Set<GeneGeneSet> resolveGeneSets(List<ObjectNode> drugs, String geneId) {
-    val geneSets = Sets.<GeneGeneSet> newHashSet();
-    for (val drug : drugs) {
-      for (val drugGene : getDrugGenes(drug)) {
-        val drugGeneId = getDrugGeneId(drugGene);
-        if (drugGeneId.equals(geneId)) {
-          geneSets.add(createGeneSet(drug));
-        }
+      updateGeneCount += n;
+      val status = updateGeneCount % 100 == 0;
+      if (status) {
+        log.info("Updated drugs for {} genes", formatCount(updateGeneCount));
       }
     }
 
-    return geneSets;
+    log.info("Finished writing drugs for {} genes total", formatCount(updateGeneCount));
   }
 
-  private GeneGeneSet createGeneSet(ObjectNode drug) {
-    return GeneGeneSet.builder()
-        .id(getZincId(drug))
-        .name(getName(drug))
-        .type(GeneSetType.DRUG)
-        .annotation(DIRECT)
-        .build();
+  private int updateGeneGeneSets(String geneId, Collection<GeneGeneSet> geneSets) {
+    return geneCollection
+        .update("{ " + GENE_ID + ": #, " + GENE_UNIPROT_IDS + ": { $ne : null } }", geneId)
+        .multi()
+        .with("{ $addToSet: { " + type.getFieldName() + ": { $each: # } } }", ImmutableList.copyOf(geneSets))
+        .getN();
   }
 
 }
@@ -20,11 +20,15 @@ package org.icgc.dcc.imports.drug.writer;
 import static com.google.common.base.Stopwatch.createStarted;
 import static org.icgc.dcc.common.core.model.ReleaseCollection.DRUG_COLLECTION;
 import static org.icgc.dcc.common.core.model.ReleaseCollection.GENE_COLLECTION;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.imports.drug.core.DrugCollection.TRIAL_COLLECTION;
 import static org.icgc.dcc.imports.drug.util.Drugs.getZincId;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 import org.icgc.dcc.imports.core.util.AbstractJongoWriter;
+import org.icgc.dcc.imports.drug.core.DrugGeneIndex;
 import org.jongo.MongoCollection;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -35,61 +39,98 @@ import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class DrugWriter extends AbstractJongoWriter<List<ObjectNode>> {
+public class DrugWriter extends AbstractJongoWriter<Stream<ObjectNode>> {
 
   public DrugWriter(@NonNull MongoClientURI mongoUri) {
     super(mongoUri);
   }
 
   @Override
-  public void writeValue(@NonNull List<ObjectNode> drugs) {
+  public void writeValue(@NonNull Stream<ObjectNode> drugs) {
+    writeDrugs(drugs);
+  }
+
+  /**
+   * Consumes the (possibly parallel) stream of processed drugs, bulk writing them and indexing their genes as they
+   * arrive.
+   * 
+   * @return the number of drugs written
+   */
+  public int writeDrugs(@NonNull Stream<ObjectNode> drugs) {
     val watch = createStarted();
 
     log.info("Writing drugs to {}...", mongoUri);
-    writeDrugs(drugs);
+    val index = new DrugGeneIndex();
+    val drugCount = writeDrugs(drugs, index);
 
     log.info("Writing gene gene sets to {}...", mongoUri);
-    writeGeneGeneSets(drugs);
+    writeGeneGeneSets(index);
 
     log.info("Finished writing gene sets and gene gene sets in {}", watch);
+    return drugCount;
   }
 
-  private void writeDrugs(List<ObjectNode> drugs) {
+  private int writeDrugs(Stream<ObjectNode> drugs, DrugGeneIndex index) {
     log.info("Dropping current Drug collection...");
     dropCollection();
 
     log.info("Saving new Drug collection...");
-    saveCollection(drugs);
+    return saveCollection(drugs, index);
   }
 
-  private void writeGeneGeneSets(List<ObjectNode> drugs) {
-    new DrugGeneGeneSetWriter(getCollection(GENE_COLLECTION)).write(drugs);
+  private void writeGeneGeneSets(DrugGeneIndex index) {
+    new DrugGeneGeneSetWriter(getCollection(GENE_COLLECTION)).write(index);
   }
   
   private void dropCollection() {
     getDrugsCollection().drop();
   }
 
-  private void saveCollection(List<ObjectNode> drugs) {
-    val total = drugs.size();
-    val drugsCollection = getDrugsCollection();
-    
-    int current = 1;
-    for (val drug : drugs) {
-      val zincId = getZincId(drug);
-      drug.put("_id", zincId);
-      try {
-        log.info("Writing {}/{} with id: {}", current, total, zincId);
-        drugsCollection.save(drug);
-      } catch (Exception e) {
-        log.warn(e.getMessage());
-      }
-      current++;
+  private int saveCollection(Stream<ObjectNode> drugs, DrugGeneIndex index) {
+    val writer = new DrugBulkWriter(getDrugsCollection().getDBCollection());
+    drugs.forEach(drug -> {
+      drug.put("_id", getZincId(drug));
+      index.add(drug);
+      writer.add(drug);
+    });
+    writer.flush();
+
+    log.info("Saved {} drugs with {} errors", formatCount(writer.getWriteCount()), formatCount(writer.getErrorCount()));
+    return writer.getWriteCount();
+  }
+
+  /**
+   * Writes each trial once, keyed by its code, for drugs that only embed trial summaries.
+   */
+  public void writeTrials(@NonNull Collection<ObjectNode> trials) {
+    dropTrials();
+
+    log.info("Saving new {} collection...", TRIAL_COLLECTION.getId());
+    val writer = new DrugBulkWriter(getTrialsCollection().getDBCollection());
+    for (val trial : trials) {
+      trial.put("_id", trial.get("code").asText());
+      writer.add(trial);
     }
+    writer.flush();
+
+    log.info("Saved {} trials with {} errors", formatCount(writer.getWriteCount()),
+        formatCount(writer.getErrorCount()));
+  }
+
+  /**
+   * Removes trials left by a previous normalized import, since drugs that embed full trials do not reference them.
+   */
+  public void dropTrials() {
+    log.info("Dropping current {} collection...", TRIAL_COLLECTION.getId());
+    getTrialsCollection().drop();
   }
 
   private MongoCollection getDrugsCollection() {
     return getCollection(DRUG_COLLECTION);
   }
 
+  private MongoCollection getTrialsCollection() {
+    return jongo.getCollection(TRIAL_COLLECTION.getId());
+  }
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.drug.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class DrugGeneIndexTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void testCreate() {
+    val index = DrugGeneIndex.create(ImmutableList.of(
+        drug("ZINC1", "ENSG1", "ENSG2", "ENSG1"),
+        drug("ZINC2", "ENSG2", ""),
+        drug("ZINC3")));
+
+    assertThat(index.getGeneCount()).isEqualTo(2);
+    assertThat(index.getGeneSets().get("ENSG1")).extracting("id").containsExactly("ZINC1");
+    assertThat(index.getGeneSets().get("ENSG2")).extracting("id").containsExactly("ZINC1", "ZINC2");
+  }
+
+  private static ObjectNode drug(String zincId, String... geneIds) {
+    val drug = MAPPER.createObjectNode();
+    drug.put("zinc_id", zincId);
+    drug.put("name", zincId.toLowerCase());
+    val genes = drug.putArray("genes");
+    for (val geneId : geneIds) {
+      genes.addObject().put("ensembl_gene_id", geneId);
+    }
+
+    return drug;
+  }
+
+}
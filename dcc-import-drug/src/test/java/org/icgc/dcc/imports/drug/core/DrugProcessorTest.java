@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.drug.core;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import lombok.val;
+
+public class DrugProcessorTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void testProcessEmbedsFullTrials() {
+    val drug = process(false);
+    val trials = drug.get("trials");
+
+    assertThat(drug.get("cancer_trial_count").asInt()).isEqualTo(2);
+    assertThat(trials).hasSize(2);
+    assertThat(trials.get(0).has("conditions")).isTrue();
+    assertThat(trials.get(0).has("start_date")).isTrue();
+  }
+
+  @Test
+  public void testProcessEmbedsTrialSummariesWhenNormalized() {
+    val drug = process(true);
+    val trials = drug.get("trials");
+
+    assertThat(drug.get("cancer_trial_count").asInt()).isEqualTo(2);
+    assertThat(trials).hasSize(2);
+    for (val trial : trials) {
+      assertThat(Lists.newArrayList(trial.fieldNames()))
+          .containsOnly("code", "description", "phase_name", "status_name");
+    }
+    assertThat(trials.get(0).get("code").asText()).isEqualTo("NCT1");
+    assertThat(trials.get(1).get("code").asText()).isEqualTo("NCT2");
+  }
+
+  private static ObjectNode process(boolean normalizeTrials) {
+    Map<String, ObjectNode> geneMap = ImmutableMap.of("KRAS", gene("ENSG00000133703"));
+    Map<String, ObjectNode> trialMap = ImmutableMap.of("NCT1", trial("NCT1"), "NCT2", trial("NCT2"));
+    val processor = new DrugProcessor(geneMap, trialMap, normalizeTrials);
+
+    List<ObjectNode> drugs = processor.process(ImmutableList.of(drug("ZINC1", "KRAS", "NCT1", "NCT2", "NCT3")))
+        .collect(toList());
+    assertThat(drugs).hasSize(1);
+
+    return drugs.get(0);
+  }
+
+  private static ObjectNode drug(String zincId, String geneName, String... trialCodes) {
+    val drug = MAPPER.createObjectNode();
+    drug.put("zinc_id", zincId);
+    drug.put("name", zincId.toLowerCase());
+    drug.put("drug_class", "fda");
+    drug.put("image_url", "http://zinc.docking.org/img/" + zincId + ".png");
+    drug.putArray("genes").add(geneName);
+    val trials = drug.putArray("trials");
+    for (val trialCode : trialCodes) {
+      trials.add(trialCode);
+    }
+
+    return drug;
+  }
+
+  private static ObjectNode gene(String geneId) {
+    val gene = MAPPER.createObjectNode();
+    gene.put("ensembl_gene_id", geneId);
+
+    return gene;
+  }
+
+  private static ObjectNode trial(String code) {
+    val trial = MAPPER.createObjectNode();
+    trial.put("code", code);
+    trial.put("description", "Trial " + code);
+    trial.put("phase_name", "Phase 2");
+    trial.put("status_name", "Recruiting");
+    trial.put("start_date", "2015-01-01");
+    trial.putArray("conditions").addObject().put("name", "Pancreatic Cancer");
+
+    return trial;
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.drug.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.common.test.mongodb.EmbeddedMongo;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+
+import lombok.val;
+
+public class DrugBulkWriterTest {
+
+  @Rule
+  public final EmbeddedMongo embeddedMongo = new EmbeddedMongo();
+
+  private DBCollection collection;
+
+  @Before
+  public void setUp() {
+    collection = embeddedMongo.getMongo().getDB("dcc-import-drug-test").getCollection("Drug");
+
+    // Duplicate names fail individual documents without failing the batch
+    collection.createIndex(new BasicDBObject("name", 1), new BasicDBObject("unique", true));
+  }
+
+  @Test
+  public void testAddWritesFullBatches() {
+    val writer = new DrugBulkWriter(collection, 2);
+    writer.add(drug("ZINC1", "a"));
+    writer.add(drug("ZINC2", "b"));
+    writer.add(drug("ZINC3", "c"));
+    writer.add(drug("ZINC4", "a"));
+
+    assertThat(writer.getWriteCount()).isEqualTo(3);
+    assertThat(writer.getErrorCount()).isEqualTo(1);
+
+    writer.flush();
+    assertThat(collection.count()).isEqualTo(3);
+  }
+
+  @Test
+  public void testFlushWritesPartialBatch() {
+    val writer = new DrugBulkWriter(collection, 10);
+    writer.add(drug("ZINC1", "a"));
+    writer.add(drug("ZINC2", "b"));
+    writer.add(drug("ZINC3", "b"));
+    assertThat(collection.count()).isZero();
+
+    writer.flush();
+
+    assertThat(writer.getWriteCount()).isEqualTo(2);
+    assertThat(writer.getErrorCount()).isEqualTo(1);
+    assertThat(collection.count()).isEqualTo(2);
+  }
+
+  private static ObjectNode drug(String id, String name) {
+    val drug = JsonNodeFactory.instance.objectNode();
+    drug.put("_id", id);
+    drug.put("name", name);
+
+    return drug;
+  }
+
+}
@@ -20,8 +20,12 @@ package org.icgc.dcc.imports.go;
 import static com.google.common.base.Stopwatch.createStarted;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.common.core.util.URLs.getUrl;
+import static org.icgc.dcc.imports.core.GeneUniprotIdsReader.readGeneUniverse;
+import static org.icgc.dcc.imports.core.util.StageExecutor.join;
 import static org.icgc.dcc.imports.go.util.GoTermAncestorResolver.resolveTermAncestors;
+import static org.icgc.dcc.imports.go.util.GoTermVerifier.verifyTerms;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -29,9 +33,12 @@ import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
 
 import org.icgc.dcc.imports.core.SourceImporter;
 import org.icgc.dcc.imports.core.model.ImportSource;
+import org.icgc.dcc.imports.core.util.StageExecutor;
 import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
 import org.icgc.dcc.imports.go.core.GoAssociationProcessor;
 import org.icgc.dcc.imports.go.core.GoTermProcessor;
@@ -40,20 +47,26 @@ import org.icgc.dcc.imports.go.model.GoModel;
 import org.icgc.dcc.imports.go.model.GoTerm;
 import org.icgc.dcc.imports.go.reader.GoAssociationReader;
 import org.icgc.dcc.imports.go.reader.GoInferredTreeReader;
+import org.icgc.dcc.imports.go.reader.GoOboTermReader;
+import org.icgc.dcc.imports.go.reader.GoOwlTermReader;
 import org.icgc.dcc.imports.go.reader.GoTermReader;
 import org.icgc.dcc.imports.go.util.GoInferredTrees;
 import org.icgc.dcc.imports.go.writer.GoWriter;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.mongodb.MongoClientURI;
 
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
+import owltools.graph.OWLGraphWrapper;
 
 /**
  * Gene Ontology (GO) importer.
@@ -98,6 +111,11 @@ public class GoImporter implements SourceImporter {
   public static final URL DEFAULT_GAF_URL =
       getUrl("http://geneontology.org/gene-associations/gene_association.goa_human.gz");
 
+  /**
+   * Maximum number of input stages that are read concurrently.
+   */
+  private static final int STAGE_THREAD_COUNT = 3;
+
   /**
    * Configuration.
    */
@@ -112,13 +130,40 @@ public class GoImporter implements SourceImporter {
   @NonNull
   private final URL[] ontologies;
 
+  /**
+   * When set, terms derived from the OWL graph are additionally checked against those read from {@link #oboUrl}.
+   */
+  private final boolean verifyTerms;
+
+  /**
+   * Optional directory holding the compiled graph of the previous import, enabling incremental inferred tree rebuilds.
+   */
+  private final File inferredTreeCacheDir;
+
+  /**
+   * When set, incrementally rebuilt inferred trees are additionally checked against a full rebuild.
+   */
+  private final boolean verifyInferredTrees;
+
   public GoImporter(@NonNull MongoClientURI mongoUri) {
+    this(mongoUri, false);
+  }
+
+  public GoImporter(@NonNull MongoClientURI mongoUri, boolean verifyTerms) {
+    this(mongoUri, verifyTerms, null, false);
+  }
+
+  public GoImporter(@NonNull MongoClientURI mongoUri, boolean verifyTerms, File inferredTreeCacheDir,
+      boolean verifyInferredTrees) {
     this.oboUrl = DEFAULT_OBO_URL;
     this.gafUrl = DEFAULT_GAF_URL;
     this.owlUrl = DEFAULT_OWL_URL;
     this.ontologies = new URL[] { DEFAULT_OWL_URL
     };
     this.mongoUri = mongoUri;
+    this.verifyTerms = verifyTerms;
+    this.inferredTreeCacheDir = inferredTreeCacheDir;
+    this.verifyInferredTrees = verifyInferredTrees;
   }
 
   @Override
@@ -131,24 +176,38 @@ public class GoImporter implements SourceImporter {
   public void execute() {
     val watch = createStarted();
 
-    log.info("Reading inferred trees...");
-    val inferredTrees = readInferredTrees(ontologies);
-    log.info("Number of nodes in inferred trees: {}", GoInferredTrees.inferredTreeNodeCount(inferredTrees));
+    @Cleanup
+    val stages = new StageExecutor("go", STAGE_THREAD_COUNT);
 
-    log.info("Processing terms...");
-    val terms = processTerms(oboUrl);
+    // Independent inputs are read concurrently
+    val ontologyStage = stages.submit("ontology", () -> readOntology());
+    val associationsStage = stages.submit("associations", () -> processAssociations());
+    Future<Iterable<GoTerm>> verificationTermsStage = null;
+    if (verifyTerms) {
+      verificationTermsStage = stages.submit("verification terms", () -> processTerms(new GoOboTermReader(oboUrl)));
+    }
+
+    val ontology = join(ontologyStage);
+    val inferredTrees = ontology.getInferredTrees();
+    val terms = ontology.getTerms();
+    if (verifyTerms) {
+      log.info("Verifying terms against {}...", oboUrl);
+      verifyTerms(join(verificationTermsStage), terms);
+    }
 
     log.info("Resolving term ancestors...");
     val termAncestors = resolveTermAncestors(terms);
 
-    log.info("Processing associations...");
-    val associations = processAssociations(gafUrl);
+    log.info("Waiting for associations...");
+    val goAssociations = join(associationsStage);
+    val associations = goAssociations.getAssociations();
 
     log.info("Creating model...");
     val model = GoModel.builder()
         .terms(terms)
         .termAncestors(termAncestors)
         .associations(associations)
+        .droppedAssociationGoIds(goAssociations.getDroppedGoIds())
         .inferredTrees(inferredTrees)
         .build();
 
@@ -162,40 +221,75 @@ public class GoImporter implements SourceImporter {
         formatCount(terms), formatCount(associations), watch);
   }
 
-  private static Map<String, List<GoInferredTreeNode>> readInferredTree(URL owlUrl) throws OBOFormatParserException,
-      OWLOntologyCreationException, IOException {
-    return new GoInferredTreeReader(owlUrl).read();
+  /**
+   * The OWL graph is shared by the inferred trees and the terms and is not safe for concurrent use, so both are derived
+   * within the same stage.
+   */
+  private GoOntology readOntology() throws OBOFormatParserException, OWLOntologyCreationException, IOException {
+    log.info("Reading OWL graph...");
+    val graph = readGraph(owlUrl);
+
+    log.info("Reading inferred trees...");
+    val inferredTrees = readInferredTrees(graph, owlUrl, ontologies);
+    log.info("Number of nodes in inferred trees: {}", GoInferredTrees.inferredTreeNodeCount(inferredTrees));
+
+    log.info("Processing terms...");
+    val terms = processTerms(new GoOwlTermReader(graph));
+
+    return new GoOntology(inferredTrees, terms);
   }
 
-  private static Map<String, List<GoInferredTreeNode>> readInferredTrees(URL[] ontologyURLS)
-      throws OBOFormatParserException,
+  private static OWLGraphWrapper readGraph(URL owlUrl) throws OBOFormatParserException,
       OWLOntologyCreationException, IOException {
+    return new GoInferredTreeReader(owlUrl).readGraph();
+  }
+
+  private Map<String, List<GoInferredTreeNode>> readInferredTree(URL owlUrl, OWLGraphWrapper graph) {
+    val cacheFile = inferredTreeCacheDir == null ? null : getInferredTreeCacheFile(owlUrl);
+    return new GoInferredTreeReader(owlUrl, cacheFile, verifyInferredTrees).read(graph);
+  }
+
+  private File getInferredTreeCacheFile(URL owlUrl) {
+    val path = owlUrl.getPath();
+    val fileName = path.substring(path.lastIndexOf('/') + 1);
+
+    return new File(inferredTreeCacheDir, fileName + ".inferred-trees.gz");
+  }
+
+  private Map<String, List<GoInferredTreeNode>> readInferredTrees(OWLGraphWrapper owlGraph, URL owlUrl,
+      URL[] ontologyURLS) throws OBOFormatParserException, OWLOntologyCreationException, IOException {
     val inferredTrees = new HashMap<String, List<GoInferredTreeNode>>();
 
     for (val ontologyURL : ontologyURLS) {
-      val inferredTree = readInferredTree(ontologyURL);
+      // Reuse the already parsed graph rather than parsing the same ontology twice
+      val sameOntology = ontologyURL.toExternalForm().equals(owlUrl.toExternalForm());
+      val graph = sameOntology ? owlGraph : readGraph(ontologyURL);
+      val inferredTree = readInferredTree(ontologyURL, graph);
       for (val entry : inferredTree.entrySet()) {
         val key = entry.getKey();
         val value = entry.getValue();
-        if (inferredTrees.get(key) == null) {
-          inferredTrees.put(key, value);
-        } else {
-          value.addAll(inferredTrees.get(key));
-          inferredTrees.put(key, value);
-        }
+
+        // Trees are immutable and share pooled nodes, so merge into a new list
+        val existing = inferredTrees.get(key);
+        inferredTrees.put(key, existing == null ? value : ImmutableList.copyOf(Iterables.concat(value, existing)));
       }
-      inferredTrees.putAll(inferredTree);
     }
 
     return inferredTrees;
   }
 
-  private static Iterable<GoTerm> processTerms(URL oboUrl) throws IOException, OBOFormatParserException {
-    return new GoTermProcessor(new GoTermReader(oboUrl)).process();
+  private static Iterable<GoTerm> processTerms(GoTermReader termReader) throws IOException, OBOFormatParserException {
+    return new GoTermProcessor(termReader).process();
   }
 
-  private static Iterable<GoAssociation> processAssociations(URL gafUrl) throws IOException, URISyntaxException {
-    return new GoAssociationProcessor(new GoAssociationReader(gafUrl)).process();
+  private GoAssociations processAssociations() throws IOException, URISyntaxException {
+    log.info("Reading gene universe...");
+    val geneUniprotIds = readGeneUniverse(mongoUri);
+
+    val associationReader = new GoAssociationReader(gafUrl, geneUniprotIds);
+    val associations = new GoAssociationProcessor(associationReader).process();
+
+    return new GoAssociations(associations, associationReader.getDroppedGoIds());
   }
 
   private static void persistModel(GoModel model, MongoClientURI mongoUri) throws UnknownHostException, IOException {
@@ -204,4 +298,20 @@ public class GoImporter implements SourceImporter {
     writer.writeValue(model);
   }
 
+  @Value
+  private static class GoAssociations {
+
+    Iterable<GoAssociation> associations;
+    Set<String> droppedGoIds;
+
+  }
+
+  @Value
+  private static class GoOntology {
+
+    Map<String, List<GoInferredTreeNode>> inferredTrees;
+    Iterable<GoTerm> terms;
+
+  }
+
 }
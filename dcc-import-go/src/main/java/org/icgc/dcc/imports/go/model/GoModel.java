@@ -21,6 +21,7 @@ import static com.google.common.base.Stopwatch.createStarted;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
 import org.icgc.dcc.imports.go.util.GoAssociationIndexer;
@@ -35,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 
 @Data
 @Builder
@@ -51,6 +53,11 @@ public class GoModel {
   @NonNull
   Iterable<GoAssociation> associations;
 
+  /**
+   * GO ids of positive associations that were dropped on read because they are outside of the gene universe.
+   */
+  Set<String> droppedAssociationGoIds;
+
   public List<GoInferredTreeNode> getInferredTree(String goId) {
     return inferredTrees.get(goId);
   }
@@ -59,7 +66,12 @@ public class GoModel {
     log.info("Pruning started....");
     val watch = createStarted();
 
-    val goIdsInAssociations = GoAssociationIndexer.indexGoId(associations).keySet();
+    Set<String> goIdsInAssociations = GoAssociationIndexer.indexGoId(associations).keySet();
+    if (droppedAssociationGoIds != null) {
+      // Terms are retained irrespective of whether their associations are with known genes
+      goIdsInAssociations = Sets.union(goIdsInAssociations, droppedAssociationGoIds);
+    }
+
     log.info("Number of goIds in associations: {}", goIdsInAssociations.size());
 
     log.info("Number of goIds in inferredTrees before pruning: {}", Iterables.size(inferredTrees.keySet()));
@@ -19,20 +19,26 @@ package org.icgc.dcc.imports.go.reader;
 
 import static org.icgc.dcc.imports.go.util.GoAssociationConverter.convertGeneAnnotation;
 
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Set;
 
 import org.icgc.dcc.imports.go.model.GoAssociation;
 
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 import owltools.gaf.GafDocument;
+import owltools.gaf.GeneAnnotation;
 import owltools.gaf.parser.GafObjectsBuilder;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -44,22 +50,55 @@ public class GoAssociationReader {
   @NonNull
   private final URL gafUrl;
 
+  /**
+   * Optional gene universe. Annotations of UniProt ids outside of it are dropped before conversion.
+   */
+  private final Set<String> geneUniprotIds;
+
+  /**
+   * GO ids of dropped positive annotations. These are still needed to decide which terms are retained by the model.
+   */
+  @Getter
+  private final Set<String> droppedGoIds = Sets.newHashSet();
+
+  public GoAssociationReader(@NonNull URL gafUrl) {
+    this(gafUrl, null);
+  }
+
   public Iterable<GoAssociation> read() throws IOException, URISyntaxException {
     log.info("Reading GAF document from {}...", gafUrl);
     val document = readDocument();
     log.info("Finished reading GAF document");
 
+    int droppedCount = 0;
     val associations = ImmutableList.<GoAssociation> builder();
     for (val annotation : document.getGeneAnnotations()) {
+      if (!isInGeneUniverse(annotation)) {
+        if (!annotation.isNegated()) {
+          droppedGoIds.add(annotation.getCls());
+        }
+
+        droppedCount++;
+        continue;
+      }
+
       val association = convertGeneAnnotation(annotation);
 
       log.debug("Read association: {}", association);
       associations.add(association);
     }
 
+    if (geneUniprotIds != null) {
+      log.info("Dropped {} annotations outside of the gene universe", formatCount(droppedCount));
+    }
+
     return associations.build();
   }
 
+  private boolean isInGeneUniverse(GeneAnnotation annotation) {
+    return geneUniprotIds == null || geneUniprotIds.contains(annotation.getBioentityObject().getDBID());
+  }
+
   private GafDocument readDocument() throws IOException, URISyntaxException {
     return new GafObjectsBuilder().buildDocument(gafUrl.toExternalForm());
   }
@@ -17,24 +17,29 @@
  */
 package org.icgc.dcc.imports.go.reader;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Stopwatch.createStarted;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static owltools.graph.RelationSets.REGULATES;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
+import org.icgc.dcc.imports.go.util.GoGraphSignature;
 import org.icgc.dcc.imports.go.util.GoInferredTreeBuilder;
+import org.icgc.dcc.imports.go.util.GoInferredTreeCache;
+import org.icgc.dcc.imports.go.util.GoInferredTreeNodePool;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
 import com.google.common.collect.ImmutableMap;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 import owltools.graph.OWLGraphWrapper;
@@ -45,6 +50,9 @@ import owltools.io.ParserWrapper;
  * Reads an "inferred tree" as defined by the Amigo project.
  * <p>
  * Requires 2 GB of heap.
+ * <p>
+ * When given a cache file, only the trees of terms affected by the delta between the graph and the previously cached
+ * one are rebuilt (see {@link GoGraphSignature}); the remaining trees are taken from the cache.
  * 
  * @see https
  * ://code.google.com/p/owltools/source/browse/trunk/OWLTools-Runner/src/main/java/owltools/cli/SolrCommandRunner.java
@@ -54,7 +62,6 @@ import owltools.io.ParserWrapper;
  * @see https://github.com/azurebrd/wobr/blob/master/amigo.cgi#L678-L703
  */
 @Slf4j
-@RequiredArgsConstructor
 public class GoInferredTreeReader {
 
   /**
@@ -68,6 +75,26 @@ public class GoInferredTreeReader {
   @NonNull
   private final URL owlUrl;
 
+  /**
+   * Optional compiled graph cache that enables incremental rebuilds.
+   */
+  private final File cacheFile;
+
+  /**
+   * When set, incrementally built trees are additionally checked against a full rebuild.
+   */
+  private final boolean verifyCache;
+
+  public GoInferredTreeReader(@NonNull URL owlUrl) {
+    this(owlUrl, null, false);
+  }
+
+  public GoInferredTreeReader(@NonNull URL owlUrl, File cacheFile, boolean verifyCache) {
+    this.owlUrl = owlUrl;
+    this.cacheFile = cacheFile;
+    this.verifyCache = verifyCache;
+  }
+
   public Map<String, List<GoInferredTreeNode>> read() throws IOException, OBOFormatParserException,
       OWLOntologyCreationException {
     val watch = createStarted();
@@ -75,34 +102,124 @@ public class GoInferredTreeReader {
     log.info("Reading OWL graph...");
     val graph = readGraph();
 
-    log.info("Creating GO term inferred trees...");
-    val inferredTrees = createInferredTrees(graph);
+    val inferredTrees = read(graph);
 
     log.info("Finished processing {} GO term inferred trees in {}", formatCount(inferredTrees.size()), watch);
     return inferredTrees;
   }
 
-  private Map<String, List<GoInferredTreeNode>> createInferredTrees(OWLGraphWrapper graph) {
+  /**
+   * Creates the inferred trees of an already parsed {@code graph}.
+   */
+  public Map<String, List<GoInferredTreeNode>> read(@NonNull OWLGraphWrapper graph) {
+    if (cacheFile == null) {
+      return createInferredTrees(graph, null, null);
+    }
+
+    log.info("Signing GO OWL graph...");
+    val signature = GoGraphSignature.create(graph);
+    val cache = readCache();
+
+    Set<String> affectedGoIds = null;
+    if (cache == null) {
+      log.info("No usable inferred tree cache at '{}'. Rebuilding all inferred trees", cacheFile);
+    } else {
+      affectedGoIds = signature.resolveAffectedGoIds(cache);
+      if (affectedGoIds == null) {
+        log.info("Object property axioms changed since the inferred tree cache was written. Rebuilding all trees");
+      } else {
+        log.info("Found {} GO terms affected by ontology changes", formatCount(affectedGoIds.size()));
+      }
+    }
+
+    val inferredTrees = createInferredTrees(graph, affectedGoIds, cache);
+    if (verifyCache && affectedGoIds != null) {
+      verifyInferredTrees(createInferredTrees(graph, null, null), inferredTrees);
+    }
+
+    writeCache(new GoInferredTreeCache(signature.getPropertySignature(), signature.getTermSignatures(), inferredTrees));
+
+    return inferredTrees;
+  }
+
+  private Map<String, List<GoInferredTreeNode>> createInferredTrees(OWLGraphWrapper graph, Set<String> affectedGoIds,
+      GoInferredTreeCache cache) {
+    log.info("Creating GO term inferred trees...");
     val watch = createStarted();
     val inferredTrees = ImmutableMap.<String, List<GoInferredTreeNode>> builder();
     int inferredTreeCount = 0;
+    int reusedTreeCount = 0;
     val inferredTreeBuilder = new GoInferredTreeBuilder(graph, RELATION_IDS);
 
-    for (val goTerm : graph.getAllOWLClasses()) {
-      // Build the inferred tree for the current term
-      val inferredTree = inferredTreeBuilder.build(goTerm);
+    // Ancestor nodes are shared by the trees of all their descendants so store each only once
+    val nodePool = new GoInferredTreeNodePool();
 
+    for (val goTerm : graph.getAllOWLClasses()) {
       val goId = graph.getIdentifier(goTerm);
-      inferredTrees.put(goId, inferredTree);
+
+      // Reuse the cached tree if none of the current term's ancestry changed
+      val cachedTree = affectedGoIds == null ? null : cache.getInferredTrees().get(goId);
+      if (cachedTree != null && !affectedGoIds.contains(goId)) {
+        inferredTrees.put(goId, nodePool.intern(cachedTree));
+        reusedTreeCount++;
+      } else {
+        // Build the inferred tree for the current term
+        val inferredTree = inferredTreeBuilder.build(goTerm);
+        inferredTrees.put(goId, nodePool.intern(inferredTree));
+      }
 
       if (++inferredTreeCount % 1000 == 0) {
         log.info("Created {} GO term inferred trees in {}", formatCount(inferredTreeCount), watch);
       }
     }
 
+    log.info("Pooled {} inferred tree nodes into {} distinct nodes", formatCount(nodePool.getInternCount()),
+        formatCount(nodePool.size()));
+    if (affectedGoIds != null) {
+      log.info("Reused {} of {} cached GO term inferred trees", formatCount(reusedTreeCount),
+          formatCount(inferredTreeCount));
+    }
+
     return inferredTrees.build();
   }
 
+  private static void verifyInferredTrees(Map<String, List<GoInferredTreeNode>> expected,
+      Map<String, List<GoInferredTreeNode>> actual) {
+    log.info("Verifying incrementally built inferred trees against a full rebuild...");
+    int mismatchCount = 0;
+    for (val entry : expected.entrySet()) {
+      val goId = entry.getKey();
+      if (!entry.getValue().equals(actual.get(goId))) {
+        if (++mismatchCount <= 20) {
+          log.error("Inferred tree mismatch for {}: expected {}, actual {}", goId, entry.getValue(), actual.get(goId));
+        }
+      }
+    }
+
+    checkState(mismatchCount == 0 && expected.size() == actual.size(),
+        "Incrementally built inferred trees differ from a full rebuild: %s mismatched of %s (actual count %s)",
+        mismatchCount, expected.size(), actual.size());
+    log.info("Verified {} inferred trees", formatCount(expected.size()));
+  }
+
+  private GoInferredTreeCache readCache() {
+    try {
+      return GoInferredTreeCache.read(cacheFile);
+    } catch (IOException e) {
+      log.warn("Could not read inferred tree cache '{}': {}", cacheFile, e.getMessage());
+      return null;
+    }
+  }
+
+  private void writeCache(GoInferredTreeCache cache) {
+    try {
+      log.info("Writing inferred tree cache to '{}'...", cacheFile);
+      cache.write(cacheFile);
+    } catch (IOException e) {
+      log.warn("Could not write inferred tree cache '{}': {}", cacheFile, e.getMessage());
+    }
+  }
+
   public OWLGraphWrapper readGraph() throws OWLOntologyCreationException, IOException, OBOFormatParserException {
     log.info("Parsing GO OWL graph from {}...", owlUrl);
     return new ParserWrapper().parseToOWLGraph(owlUrl.toString());
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.reader;
+
+import static org.icgc.dcc.imports.go.util.GoTermConverter.convertOwlClass;
+import static org.icgc.dcc.imports.go.util.GoTermConverter.isGoId;
+
+import org.icgc.dcc.imports.go.model.GoTerm;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+import owltools.graph.OWLGraphWrapper;
+
+/**
+ * Reads GO terms from an already parsed OWL graph so that the ontology does not have to be parsed a second time in OBO
+ * format.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GoOwlTermReader implements GoTermReader {
+
+  /**
+   * Data.
+   */
+  @NonNull
+  private final OWLGraphWrapper graph;
+
+  @Override
+  public Iterable<GoTerm> read() {
+    log.info("Reading terms from OWL graph...");
+    val terms = ImmutableSet.<GoTerm> builder();
+    for (val termClass : graph.getAllOWLClasses()) {
+      val id = graph.getIdentifier(termClass);
+      if (!isGoId(id)) {
+        continue;
+      }
+
+      val term = convertOwlClass(graph, termClass);
+
+      log.debug("Read term: {}", term);
+      terms.add(term);
+    }
+
+    return terms.build();
+  }
+
+}
@@ -17,51 +17,16 @@
  */
 package org.icgc.dcc.imports.go.reader;
 
-import static org.icgc.dcc.imports.go.util.GoTermConverter.convertTermFrame;
-
 import java.io.IOException;
-import java.net.URL;
-
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
-import lombok.val;
-import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.imports.go.model.GoTerm;
-import org.obolibrary.oboformat.model.OBODoc;
-import org.obolibrary.oboformat.parser.OBOFormatParser;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 
-import com.google.common.collect.ImmutableSet;
-
-@Slf4j
-@RequiredArgsConstructor
-public class GoTermReader {
-
-  /**
-   * Configuration.
-   */
-  @NonNull
-  private final URL oboUrl;
-
-  public Iterable<GoTerm> read() throws IOException, OBOFormatParserException {
-    log.info("Reading OBO document from {}...", oboUrl);
-    val document = readDocument();
-    log.info("Finished reading OBO document");
-
-    val terms = ImmutableSet.<GoTerm> builder();
-    for (val termFrame : document.getTermFrames()) {
-      val term = convertTermFrame(termFrame);
-
-      log.debug("Read term: {}", term);
-      terms.add(term);
-    }
-
-    return terms.build();
-  }
+/**
+ * Source of GO terms.
+ */
+public interface GoTermReader {
 
-  private OBODoc readDocument() throws IOException, OBOFormatParserException {
-    return new OBOFormatParser().parse(oboUrl.toExternalForm());
-  }
+  Iterable<GoTerm> read() throws IOException, OBOFormatParserException;
 
 }
@@ -31,7 +31,7 @@ import lombok.val;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableSet;
 
 @NoArgsConstructor(access = PRIVATE)
 public final class GoAssociationFilter {
@@ -73,14 +73,8 @@ public final class GoAssociationFilter {
   public static Iterable<GoAssociation> filterAssociationsByGeneUniprotIds(
       @NonNull Iterable<GoAssociation> associations,
       @NonNull final Iterable<String> uniprotIds) {
-    return copyOf(filter(associations, new Predicate<GoAssociation>() {
-
-      @Override
-      public boolean apply(GoAssociation association) {
-        return Iterables.contains(uniprotIds, association.getKey().getUniProtId());
-      }
-
-    }));
+    // Hash lookups instead of a linear scan of uniprotIds per association
+    return filterAssociationsByGeneUniprotIds(associations, ImmutableSet.copyOf(uniprotIds));
   }
 
 }
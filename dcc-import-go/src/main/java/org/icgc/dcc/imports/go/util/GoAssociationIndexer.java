@@ -20,14 +20,20 @@ package org.icgc.dcc.imports.go.util;
 import static com.google.common.collect.Multimaps.index;
 import static lombok.AccessLevel.PRIVATE;
 
+import java.util.Set;
+
 import org.icgc.dcc.imports.go.model.GoAssociation;
 import org.icgc.dcc.imports.go.model.GoAssociationKey;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.val;
 
 import com.google.common.base.Function;
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import com.google.common.collect.Table;
 
 @NoArgsConstructor(access = PRIVATE)
 public final class GoAssociationIndexer {
@@ -66,4 +72,33 @@ public final class GoAssociationIndexer {
     });
   }
 
+  /**
+   * Indexes the qualifiers of {@code associations} by GO id (row) and UniProt id (column) so that membership and
+   * qualifiers of a UniProt id in a term can be resolved in constant time.
+   * <p>
+   * Associations without qualifiers contribute a {@code null} qualifier.
+   */
+  public static Table<String, String, Set<String>> indexGoIdUniProtIdQualifiers(
+      @NonNull Iterable<GoAssociation> associations) {
+    val index = HashBasedTable.<String, String, Set<String>> create();
+    for (val association : associations) {
+      val key = association.getKey();
+
+      Set<String> qualifiers = index.get(key.getGoId(), key.getUniProtId());
+      if (qualifiers == null) {
+        qualifiers = Sets.<String> newHashSet();
+        index.put(key.getGoId(), key.getUniProtId(), qualifiers);
+      }
+
+      val associationQualifiers = association.getQualifiers();
+      if (associationQualifiers.isEmpty()) {
+        qualifiers.add(null);
+      } else {
+        qualifiers.addAll(associationQualifiers);
+      }
+    }
+
+    return index;
+  }
+
 }
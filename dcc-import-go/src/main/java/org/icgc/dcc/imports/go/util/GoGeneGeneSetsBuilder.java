@@ -21,7 +21,7 @@ import static org.icgc.dcc.imports.core.util.Genes.getGeneUniprotIds;
 import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.DIRECT;
 import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.INFERRED;
 import static org.icgc.dcc.imports.geneset.model.GeneSetType.GO_TERM;
-import static org.icgc.dcc.imports.go.util.GoAssociationIndexer.indexGoId;
+import static org.icgc.dcc.imports.go.util.GoAssociationIndexer.indexGoIdUniProtIdQualifiers;
 import static org.icgc.dcc.imports.go.util.GoAssociationIndexer.indexUniProtId;
 
 import java.util.List;
@@ -41,6 +41,7 @@ import lombok.extern.slf4j.Slf4j;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Table;
 
 @Slf4j
 public class GoGeneGeneSetsBuilder {
@@ -59,7 +60,7 @@ public class GoGeneGeneSetsBuilder {
   @NonNull
   private final Multimap<String, GoAssociation> uniprotIdAssociationsIndex;
   @NonNull
-  private final Multimap<String, GoAssociation> goIdAssociationsIndex;
+  private final Table<String, String, Set<String>> goIdUniprotIdQualifiersIndex;
 
   public GoGeneGeneSetsBuilder(@NonNull GoModel model) {
     this.inferredTrees = model.getInferredTrees();
@@ -67,7 +68,7 @@ public class GoGeneGeneSetsBuilder {
     log.info("Indexing GO model...");
     this.goIdTermsIndex = GoTermIndexer.indexGoId(model.getTerms());
     this.uniprotIdAssociationsIndex = indexUniProtId(model.getAssociations());
-    this.goIdAssociationsIndex = indexGoId(model.getAssociations());
+    this.goIdUniprotIdQualifiersIndex = indexGoIdUniProtIdQualifiers(model.getAssociations());
   }
 
   public Set<GeneGeneSet> build(@NonNull ObjectNode gene) {
@@ -75,27 +76,34 @@ public class GoGeneGeneSetsBuilder {
     val geneUniprotIds = getGeneUniprotIds(gene);
     log.debug("Uniprots IDs: {}", geneUniprotIds);
 
+    // The gene set of a tree node only depends on the node's term and the gene, so each term is built at most once
+    val visitedGoIds = Sets.<String> newHashSet();
     for (val uniprotId : geneUniprotIds) {
-      buildUniprotInferredGeneSets(geneSets, geneUniprotIds, uniprotId);
+      buildUniprotInferredGeneSets(geneSets, visitedGoIds, geneUniprotIds, uniprotId);
     }
 
     return geneSets;
   }
 
-  private void buildUniprotInferredGeneSets(Set<GeneGeneSet> geneSets, Set<String> geneUniprotIds, String uniprotId) {
+  private void buildUniprotInferredGeneSets(Set<GeneGeneSet> geneSets, Set<String> visitedGoIds,
+      Set<String> geneUniprotIds, String uniprotId) {
     val uniprotAssociations = uniprotIdAssociationsIndex.get(uniprotId);
 
     for (val uniprotAssociation : uniprotAssociations) {
-      buildUniprotTermInferredGeneSets(geneSets, geneUniprotIds, uniprotAssociation.getKey().getGoId());
+      buildUniprotTermInferredGeneSets(geneSets, visitedGoIds, geneUniprotIds, uniprotAssociation.getKey().getGoId());
     }
   }
 
-  private void buildUniprotTermInferredGeneSets(Set<GeneGeneSet> geneSets, Set<String> geneUniprotIds,
-      String uniprotGoId) {
+  private void buildUniprotTermInferredGeneSets(Set<GeneGeneSet> geneSets, Set<String> visitedGoIds,
+      Set<String> geneUniprotIds, String uniprotGoId) {
     val uniprotTermInferredTree = inferredTrees.get(uniprotGoId);
     if (uniprotTermInferredTree != null) {
       // Walk the tree
       for (val uniprotTermInferredTreeNode : uniprotTermInferredTree) {
+        if (!visitedGoIds.add(uniprotTermInferredTreeNode.getId())) {
+          continue;
+        }
+
         val geneSet = buildUniprotTermInferredTreeNodeGeneSet(geneUniprotIds, uniprotTermInferredTreeNode);
         geneSets.add(geneSet);
       }
@@ -106,21 +114,16 @@ public class GoGeneGeneSetsBuilder {
   private GeneGeneSet buildUniprotTermInferredTreeNodeGeneSet(Set<String> geneUniprotIds,
       GoInferredTreeNode uniprotTermInferredTreeNode) {
     val uniprotTermInferredTreeTerm = goIdTermsIndex.get(uniprotTermInferredTreeNode.getId());
-    val uniprotTermInferredTreeTermAssociations = goIdAssociationsIndex.get(uniprotTermInferredTreeTerm.getId());
+    val goId = uniprotTermInferredTreeTerm.getId();
 
+    // Probe the term index with the gene's uniprots rather than scanning all of the term's associations
     boolean direct = false;
     val uniqueQualifiers = Sets.<String> newHashSet();
-    for (val uniprotTermInferredTreeTermAssociation : uniprotTermInferredTreeTermAssociations) {
-      val inferredUniprotId = uniprotTermInferredTreeTermAssociation.getKey().getUniProtId();
-      if (geneUniprotIds.contains(inferredUniprotId)) {
+    for (val geneUniprotId : geneUniprotIds) {
+      val qualifiers = goIdUniprotIdQualifiersIndex.get(goId, geneUniprotId);
+      if (qualifiers != null) {
         direct = true;
-        val qualifiers = uniprotTermInferredTreeTermAssociation.getQualifiers();
-
-        if (qualifiers == null || qualifiers.isEmpty()) {
-          uniqueQualifiers.add(null);
-        } else {
-          uniqueQualifiers.addAll(qualifiers);
-        }
+        uniqueQualifiers.addAll(qualifiers);
       }
     }
 
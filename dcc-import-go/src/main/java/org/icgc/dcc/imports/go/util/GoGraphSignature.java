@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLObjectPropertyAxiom;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import owltools.graph.OWLGraphWrapper;
+
+/**
+ * Fingerprint of a compiled GO graph used to find the terms whose inferred trees are affected by an ontology delta.
+ * <p>
+ * A term's inferred tree is a function of the labels and direct edges of the term and its ancestors, plus the object
+ * property axioms that drive edge inference. Each term is therefore signed by its label and direct outgoing edges, and
+ * the property axioms are signed as a whole.
+ */
+@Value
+public class GoGraphSignature {
+
+  /**
+   * Constants.
+   */
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  long propertySignature;
+  @NonNull
+  Map<String, Long> termSignatures;
+  @NonNull
+  Multimap<String, String> childGoIds;
+
+  public static GoGraphSignature create(@NonNull OWLGraphWrapper graph) {
+    val termSignatures = Maps.<String, Long> newHashMap();
+    val childGoIds = HashMultimap.<String, String> create();
+    for (val goTerm : graph.getAllOWLClasses()) {
+      val goId = graph.getIdentifier(goTerm);
+
+      val edges = Lists.<String> newArrayList();
+      for (val edge : graph.getOutgoingEdges(goTerm)) {
+        val targetId = graph.getIdentifier(edge.getTarget());
+        edges.add(targetId + " " + edge.getQuantifiedPropertyList());
+        childGoIds.put(targetId, goId);
+      }
+      Collections.sort(edges);
+
+      val hasher = HASH_FUNCTION.newHasher().putString(String.valueOf(graph.getLabel(goTerm)), UTF_8);
+      for (val edge : edges) {
+        hasher.putString(edge, UTF_8);
+      }
+
+      termSignatures.put(goId, hasher.hash().asLong());
+    }
+
+    return new GoGraphSignature(createPropertySignature(graph), termSignatures, childGoIds);
+  }
+
+  /**
+   * @return the ids of terms whose inferred tree may differ from the one in {@code cache}, or {@code null} if all of
+   * them must be rebuilt
+   */
+  public Set<String> resolveAffectedGoIds(@NonNull GoInferredTreeCache cache) {
+    if (cache.getPropertySignature() != propertySignature) {
+      return null;
+    }
+
+    val changedGoIds = Sets.<String> newHashSet();
+    for (val entry : termSignatures.entrySet()) {
+      if (!Objects.equal(cache.getTermSignatures().get(entry.getKey()), entry.getValue())) {
+        changedGoIds.add(entry.getKey());
+      }
+    }
+
+    // Any term that (still) has a changed term as an ancestor is affected. Terms that lost such an ancestor did so
+    // through a changed edge whose subject remains their ancestor, so descendants in the new graph suffice.
+    val affectedGoIds = Sets.<String> newHashSet(changedGoIds);
+    val queue = new ArrayDeque<String>(changedGoIds);
+    while (!queue.isEmpty()) {
+      for (val childGoId : childGoIds.get(queue.poll())) {
+        if (affectedGoIds.add(childGoId)) {
+          queue.add(childGoId);
+        }
+      }
+    }
+
+    return affectedGoIds;
+  }
+
+  private static long createPropertySignature(OWLGraphWrapper graph) {
+    val axioms = Lists.<String> newArrayList();
+    for (val ontology : graph.getAllOntologies()) {
+      for (val axiom : ontology.getAxioms()) {
+        if (axiom instanceof OWLObjectPropertyAxiom) {
+          axioms.add(axiom.toString());
+        }
+      }
+    }
+    Collections.sort(axioms);
+
+    val hasher = HASH_FUNCTION.newHasher();
+    for (val axiom : axioms) {
+      hasher.putString(axiom, UTF_8);
+    }
+
+    return hasher.hash().asLong();
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-disk snapshot of a compiled GO graph: the signature of every term (see {@link GoGraphSignature}) together with
+ * the inferred tree that was built for it.
+ */
+@Slf4j
+@Value
+public class GoInferredTreeCache {
+
+  /**
+   * Constants.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  long propertySignature;
+  @NonNull
+  Map<String, Long> termSignatures;
+  @NonNull
+  Map<String, List<GoInferredTreeNode>> inferredTrees;
+
+  /**
+   * @return the cache stored in {@code file} or {@code null} if there is none
+   */
+  public static GoInferredTreeCache read(@NonNull File file) throws IOException {
+    if (!file.exists()) {
+      return null;
+    }
+
+    @Cleanup
+    val input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+    val version = input.readInt();
+    if (version != FORMAT_VERSION) {
+      log.warn("Ignoring inferred tree cache '{}' with unsupported version {}", file, version);
+      return null;
+    }
+
+    val propertySignature = input.readLong();
+    val termCount = input.readInt();
+    val termSignatures = Maps.<String, Long> newHashMapWithExpectedSize(termCount);
+    val inferredTrees = Maps.<String, List<GoInferredTreeNode>> newHashMapWithExpectedSize(termCount);
+    for (int i = 0; i < termCount; i++) {
+      val goId = input.readUTF();
+      termSignatures.put(goId, input.readLong());
+
+      val nodeCount = input.readInt();
+      if (nodeCount < 0) {
+        continue;
+      }
+
+      val inferredTree = Lists.<GoInferredTreeNode> newArrayListWithCapacity(nodeCount);
+      for (int j = 0; j < nodeCount; j++) {
+        inferredTree.add(GoInferredTreeNode.builder()
+            .id(input.readUTF())
+            .name(readString(input))
+            .relation(input.readUTF())
+            .level(input.readInt())
+            .build());
+      }
+
+      inferredTrees.put(goId, inferredTree);
+    }
+
+    return new GoInferredTreeCache(propertySignature, termSignatures, inferredTrees);
+  }
+
+  public void write(@NonNull File file) throws IOException {
+    val parent = file.getAbsoluteFile().getParentFile();
+    parent.mkdirs();
+
+    // Write aside and move into place so that an interrupted run never leaves a truncated cache
+    val temp = File.createTempFile(file.getName(), ".tmp", parent);
+    try {
+      @Cleanup
+      val output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temp))));
+      output.writeInt(FORMAT_VERSION);
+      output.writeLong(propertySignature);
+      output.writeInt(termSignatures.size());
+      for (val entry : termSignatures.entrySet()) {
+        val goId = entry.getKey();
+        output.writeUTF(goId);
+        output.writeLong(entry.getValue());
+
+        val inferredTree = inferredTrees.get(goId);
+        if (inferredTree == null) {
+          output.writeInt(-1);
+          continue;
+        }
+
+        output.writeInt(inferredTree.size());
+        for (val node : inferredTree) {
+          output.writeUTF(node.getId());
+          writeString(output, node.getName());
+          output.writeUTF(node.getRelation());
+          output.writeInt(node.getLevel());
+        }
+      }
+
+      output.close();
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      temp.delete();
+    }
+  }
+
+  /**
+   * Labels are free text and may exceed the 64K limit of {@link DataOutputStream#writeUTF(String)}.
+   */
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    val bytes = value.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    val bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+
+    return new String(bytes, UTF_8);
+  }
+
+}
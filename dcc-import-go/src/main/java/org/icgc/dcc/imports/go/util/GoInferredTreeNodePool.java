@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Maps;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Canonicalizing pool of inferred tree nodes.
+ * <p>
+ * An ancestor appears with the same id, name, relation and level in the inferred trees of many of its descendants.
+ * Interning stores each distinct node, and each distinct label, once and lets all trees share them. Not thread-safe.
+ */
+public class GoInferredTreeNodePool {
+
+  /**
+   * State.
+   */
+  private final Map<GoInferredTreeNode, GoInferredTreeNode> nodes = Maps.newHashMap();
+  private final Interner<String> strings = Interners.newStrongInterner();
+  private int internCount;
+
+  public GoInferredTreeNode intern(@NonNull GoInferredTreeNode node) {
+    internCount++;
+    val pooled = nodes.get(node);
+    if (pooled != null) {
+      return pooled;
+    }
+
+    val canonical = GoInferredTreeNode.builder()
+        .id(strings.intern(node.getId()))
+        .name(strings.intern(node.getName()))
+        .relation(strings.intern(node.getRelation()))
+        .level(node.getLevel())
+        .build();
+    nodes.put(canonical, canonical);
+
+    return canonical;
+  }
+
+  /**
+   * @return an immutable copy of {@code inferredTree} made of pooled nodes
+   */
+  public List<GoInferredTreeNode> intern(@NonNull List<GoInferredTreeNode> inferredTree) {
+    val interned = ImmutableList.<GoInferredTreeNode> builder();
+    for (val node : inferredTree) {
+      interned.add(intern(node));
+    }
+
+    return interned.build();
+  }
+
+  /**
+   * @return the number of distinct nodes
+   */
+  public int size() {
+    return nodes.size();
+  }
+
+  /**
+   * @return the number of nodes interned, including duplicates
+   */
+  public int getInternCount() {
+    return internCount;
+  }
+
+}
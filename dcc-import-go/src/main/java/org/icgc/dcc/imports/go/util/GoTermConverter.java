@@ -18,6 +18,7 @@
 package org.icgc.dcc.imports.go.util;
 
 import static com.google.common.base.Objects.firstNonNull;
+import static com.google.common.base.Strings.nullToEmpty;
 import static lombok.AccessLevel.PRIVATE;
 import static org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag.TAG_ALT_ID;
 import static org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag.TAG_DEF;
@@ -35,9 +36,17 @@ import org.icgc.dcc.imports.go.model.GoTerm;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.val;
+import owltools.graph.OWLGraphWrapper;
 
 import org.obolibrary.oboformat.model.Frame;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLNaryBooleanClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
 
 import com.google.common.collect.ImmutableList;
 
@@ -49,6 +58,7 @@ public final class GoTermConverter {
    */
   private static final String GO_TERM_PREFIX = "GO:";
   private static final String PART_OF_VALUE = "part_of";
+  private static final IRI PART_OF_IRI = IRI.create("http://purl.obolibrary.org/obo/BFO_0000050");
 
   public static GoTerm convertTermFrame(@NonNull Frame termFrame) {
     return GoTerm.builder()
@@ -87,7 +97,105 @@ public final class GoTermConverter {
     return goIds.build();
   }
 
-  private static boolean isGoId(String value) {
-    return value.startsWith(GO_TERM_PREFIX);
+  /**
+   * Converts an OWL class into the same {@link GoTerm} that {@link #convertTermFrame(Frame)} produces for the
+   * corresponding OBO term frame.
+   */
+  public static GoTerm convertOwlClass(@NonNull OWLGraphWrapper graph, @NonNull OWLClass termClass) {
+    return GoTerm.builder()
+        .id(graph.getIdentifier(termClass))
+        .name(nullToEmpty(graph.getLabel(termClass)))
+        .namespace(nullToEmpty(graph.getNamespace(termClass)))
+        .altIds(convertValues(graph.getAltIds(termClass)))
+        .def(nullToEmpty(graph.getDef(termClass)))
+        .synonym(convertSynonyms(graph, termClass))
+        .isA(convertSuperClasses(graph, termClass))
+        .intersectionOf(convertEquivalentClassReference(graph, termClass, OWLObjectIntersectionOf.class))
+        .unionOf(convertEquivalentClassReference(graph, termClass, OWLObjectUnionOf.class))
+        .relationship(convertSuperClassReference(graph, termClass))
+        .obsolete(graph.isObsolete(termClass))
+        .build();
+  }
+
+  public static boolean isGoId(String value) {
+    return value != null && value.startsWith(GO_TERM_PREFIX);
+  }
+
+  private static Iterable<String> convertValues(Iterable<String> values) {
+    return values == null ? ImmutableList.<String> of() : ImmutableList.copyOf(values);
+  }
+
+  private static Iterable<String> convertSynonyms(OWLGraphWrapper graph, OWLClass termClass) {
+    val synonyms = ImmutableList.<String> builder();
+    val oboSynonyms = graph.getOBOSynonyms(termClass);
+    if (oboSynonyms != null) {
+      for (val oboSynonym : oboSynonyms) {
+        synonyms.add(oboSynonym.getLabel());
+      }
+    }
+
+    return synonyms.build();
+  }
+
+  private static Iterable<String> convertSuperClasses(OWLGraphWrapper graph, OWLClass termClass) {
+    val goIds = ImmutableList.<String> builder();
+    for (val axiom : graph.getSourceOntology().getSubClassAxiomsForSubClass(termClass)) {
+      val superClass = axiom.getSuperClass();
+      if (!superClass.isAnonymous()) {
+        goIds.add(graph.getIdentifier(superClass));
+      }
+    }
+
+    return goIds.build();
+  }
+
+  private static Iterable<String> convertSuperClassReference(OWLGraphWrapper graph, OWLClass termClass) {
+    val goIds = ImmutableList.<String> builder();
+    for (val axiom : graph.getSourceOntology().getSubClassAxiomsForSubClass(termClass)) {
+      addPartOfReference(graph, axiom.getSuperClass(), goIds);
+    }
+
+    return goIds.build();
+  }
+
+  private static Iterable<String> convertEquivalentClassReference(OWLGraphWrapper graph, OWLClass termClass,
+      Class<? extends OWLNaryBooleanClassExpression> type) {
+    val goIds = ImmutableList.<String> builder();
+    for (val axiom : graph.getSourceOntology().getEquivalentClassesAxioms(termClass)) {
+      for (val expression : axiom.getClassExpressionsMinus(termClass)) {
+        if (!type.isInstance(expression)) {
+          continue;
+        }
+
+        for (val operand : type.cast(expression).getOperands()) {
+          addPartOfReference(graph, operand, goIds);
+        }
+      }
+    }
+
+    return goIds.build();
+  }
+
+  /**
+   * Mirrors {@link #convertTermReference(Frame, OboFormatTag)}: only {@code part_of} references to GO terms are kept.
+   */
+  private static void addPartOfReference(OWLGraphWrapper graph, OWLClassExpression expression,
+      ImmutableList.Builder<String> goIds) {
+    if (!(expression instanceof OWLObjectSomeValuesFrom)) {
+      return;
+    }
+
+    val restriction = (OWLObjectSomeValuesFrom) expression;
+    val property = restriction.getProperty();
+    val filler = restriction.getFiller();
+    if (property.isAnonymous() || filler.isAnonymous()) {
+      return;
+    }
+
+    val partOf = property.asOWLObjectProperty().getIRI().equals(PART_OF_IRI);
+    val value = graph.getIdentifier(filler);
+    if (partOf && isGoId(value)) {
+      goIds.add(value);
+    }
   }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Sets.difference;
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.imports.go.util.GoTermIndexer.indexGoId;
+
+import org.icgc.dcc.imports.go.model.GoTerm;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asserts that two GO term sources agree. Multi-valued properties are compared irrespective of order since OBO and OWL
+ * serializations do not preserve it.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class GoTermVerifier {
+
+  /**
+   * Constants.
+   */
+  private static final int MAX_REPORTED_DIFFERENCES = 20;
+
+  public static void verifyTerms(@NonNull Iterable<GoTerm> expectedTerms, @NonNull Iterable<GoTerm> actualTerms) {
+    val expectedIndex = indexGoId(expectedTerms);
+    val actualIndex = indexGoId(actualTerms);
+
+    val missing = difference(expectedIndex.keySet(), actualIndex.keySet());
+    val extra = difference(actualIndex.keySet(), expectedIndex.keySet());
+    log.info("Verifying {} terms: {} missing, {} extra",
+        formatCount(expectedIndex.size()), formatCount(missing), formatCount(extra));
+
+    int differenceCount = 0;
+    for (val expected : expectedIndex.values()) {
+      val actual = actualIndex.get(expected.getId());
+      if (actual == null || isEquivalent(expected, actual)) {
+        continue;
+      }
+
+      if (++differenceCount <= MAX_REPORTED_DIFFERENCES) {
+        log.warn("Term mismatch:\n  expected: {}\n    actual: {}", expected, actual);
+      }
+    }
+
+    checkState(missing.isEmpty() && extra.isEmpty() && differenceCount == 0,
+        "Term verification failed: %s missing (e.g. %s), %s extra (e.g. %s), %s different",
+        missing.size(), first(missing), extra.size(), first(extra), differenceCount);
+
+    log.info("Verified {} terms", formatCount(expectedIndex.size()));
+  }
+
+  private static boolean isEquivalent(GoTerm a, GoTerm b) {
+    return Objects.equal(a.getId(), b.getId())
+        && Objects.equal(a.getName(), b.getName())
+        && Objects.equal(a.getNamespace(), b.getNamespace())
+        && Objects.equal(a.getDef(), b.getDef())
+        && a.isObsolete() == b.isObsolete()
+        && isEquivalent(a.getAltIds(), b.getAltIds())
+        && isEquivalent(a.getSynonym(), b.getSynonym())
+        && isEquivalent(a.getIsA(), b.getIsA())
+        && isEquivalent(a.getIntersectionOf(), b.getIntersectionOf())
+        && isEquivalent(a.getUnionOf(), b.getUnionOf())
+        && isEquivalent(a.getRelationship(), b.getRelationship());
+  }
+
+  private static boolean isEquivalent(Iterable<String> a, Iterable<String> b) {
+    return ImmutableSet.copyOf(a).equals(ImmutableSet.copyOf(b));
+  }
+
+  private static String first(Iterable<String> values) {
+    val iterator = values.iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+}
@@ -21,17 +21,16 @@ import static org.icgc.dcc.imports.go.GoImporter.DEFAULT_OBO_URL;
 
 import java.io.IOException;
 
-import org.icgc.dcc.imports.go.reader.GoTermReader;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 
 @Ignore("This is being testing by the GoImporterTest. Useful for debugging though.")
-public class GoTermReaderTest {
+public class GoOboTermReaderTest {
 
   @Test
   public void testRead() throws OBOFormatParserException, IOException {
-    new GoTermReader(DEFAULT_OBO_URL).read();
+    new GoOboTermReader(DEFAULT_OBO_URL).read();
   }
 
 }
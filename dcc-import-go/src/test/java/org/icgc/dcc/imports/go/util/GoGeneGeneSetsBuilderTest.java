@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
+import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.DIRECT;
+import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.INFERRED;
+import static org.icgc.dcc.imports.geneset.model.GeneSetType.GO_TERM;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.icgc.dcc.imports.geneset.model.gene.GeneGeneSet;
+import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
+import org.icgc.dcc.imports.go.model.GoAssociation;
+import org.icgc.dcc.imports.go.model.GoAssociationKey;
+import org.icgc.dcc.imports.go.model.GoModel;
+import org.icgc.dcc.imports.go.model.GoTerm;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Sets;
+
+import lombok.val;
+
+public class GoGeneGeneSetsBuilderTest {
+
+  @Test
+  public void testBuild() {
+    val model = GoModel.builder()
+        .terms(ImmutableList.of(term("GO:1", "root"), term("GO:2", "child")))
+        .termAncestors(LinkedHashMultimap.<String, String> create())
+        .inferredTrees(ImmutableMap.<String, List<GoInferredTreeNode>> of(
+            "GO:1", ImmutableList.of(node("GO:1", "root", "self", 0)),
+            "GO:2", ImmutableList.of(node("GO:1", "root", "is_a", 0), node("GO:2", "child", "self", 1))))
+        .associations(ImmutableList.of(
+            association("P1", "GO:2", ImmutableSet.of("enables")),
+            association("P2", "GO:2", ImmutableSet.<String> of()),
+            association("P3", "GO:1", ImmutableSet.of("part_of"))))
+        .build();
+
+    val builder = new GoGeneGeneSetsBuilder(model);
+    val geneSets = builder.build(gene("P1", "P2"));
+
+    assertThat(geneSets).containsOnly(
+        GeneGeneSet.builder()
+            .id("GO:1")
+            .name("root")
+            .type(GO_TERM)
+            .annotation(INFERRED)
+            .build(),
+        GeneGeneSet.builder()
+            .id("GO:2")
+            .name("child")
+            .type(GO_TERM)
+            .annotation(DIRECT)
+            .qualifiers(qualifierSet("enables", null))
+            .build());
+  }
+
+  private static GoTerm term(String id, String name) {
+    val empty = Collections.<String> emptyList();
+    return GoTerm.builder()
+        .id(id)
+        .name(name)
+        .namespace("biological_process")
+        .def("")
+        .altIds(empty)
+        .synonym(empty)
+        .isA(empty)
+        .intersectionOf(empty)
+        .unionOf(empty)
+        .relationship(empty)
+        .build();
+  }
+
+  private static GoInferredTreeNode node(String id, String name, String relation, int level) {
+    return GoInferredTreeNode.builder().id(id).name(name).relation(relation).level(level).build();
+  }
+
+  private static GoAssociation association(String uniProtId, String goId, ImmutableSet<String> qualifiers) {
+    return GoAssociation.builder()
+        .key(GoAssociationKey.builder().uniProtId(uniProtId).goId(goId).build())
+        .qualifiers(qualifiers)
+        .geneSymbol(uniProtId)
+        .build();
+  }
+
+  private static Set<String> qualifierSet(String... values) {
+    return Sets.newHashSet(values);
+  }
+
+  private static ObjectNode gene(String... uniprotIds) {
+    val gene = DEFAULT.createObjectNode();
+    val uniprots = gene.putObject("external_db_ids").putArray("uniprotkb_swissprot");
+    for (val uniprotId : uniprotIds) {
+      uniprots.add(uniprotId);
+    }
+
+    return gene;
+  }
+
+}
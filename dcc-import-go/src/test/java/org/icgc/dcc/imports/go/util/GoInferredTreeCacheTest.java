@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.val;
+
+public class GoInferredTreeCacheTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testReadWrite() throws IOException {
+    val file = new File(tmp.getRoot(), "go.owl.inferred-trees.gz");
+    val cache = new GoInferredTreeCache(42L,
+        ImmutableMap.of("GO:1", 1L, "GO:2", 2L, "GO:3", 3L),
+        ImmutableMap.<String, List<GoInferredTreeNode>> of(
+            "GO:1", ImmutableList.of(node("GO:1", "root", "self", 0)),
+            "GO:2", ImmutableList.of(node("GO:1", "root", "is_a", 0), node("GO:2", "child", "self", 1))));
+
+    cache.write(file);
+
+    assertThat(GoInferredTreeCache.read(file)).isEqualTo(cache);
+  }
+
+  @Test
+  public void testReadMissing() throws IOException {
+    assertThat(GoInferredTreeCache.read(new File(tmp.getRoot(), "missing.gz"))).isNull();
+  }
+
+  private static GoInferredTreeNode node(String id, String name, String relation, int level) {
+    return GoInferredTreeNode.builder().id(id).name(name).relation(relation).level(level).build();
+  }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.go.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.imports.geneset.model.go.GoInferredTreeNode;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class GoInferredTreeNodePoolTest {
+
+  @Test
+  public void testIntern() {
+    val pool = new GoInferredTreeNodePool();
+
+    val tree1 = pool.intern(ImmutableList.of(node("GO:1", "root", "is_a", 0), node("GO:2", "child", "is_a", 1)));
+    val tree2 = pool.intern(ImmutableList.of(node("GO:1", "root", "is_a", 0), node("GO:3", "other", "part_of", 1)));
+
+    assertThat(tree1.get(0)).isSameAs(tree2.get(0));
+    assertThat(tree1).containsExactly(node("GO:1", "root", "is_a", 0), node("GO:2", "child", "is_a", 1));
+    assertThat(pool.size()).isEqualTo(3);
+    assertThat(pool.getInternCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void testInternDistinguishesLevel() {
+    val pool = new GoInferredTreeNodePool();
+
+    assertThat(pool.intern(node("GO:1", "root", "is_a", 0))).isNotSameAs(pool.intern(node("GO:1", "root", "is_a", 1)));
+  }
+
+  private static GoInferredTreeNode node(String id, String name, String relation, int level) {
+    return GoInferredTreeNode.builder().id(id).name(name).relation(relation).level(level).build();
+  }
+
+}
@@ -116,7 +116,7 @@ public class PathwayImporter implements SourceImporter {
   }
 
   private PathwayModel readPathwayModel(URL uniprotFile, URL summationFile, URL hierarchyFile) throws IOException {
-    return new PathwayModelReader().read(uniprotFile, summationFile, hierarchyFile);
+    return new PathwayModelReader(mongoUri).read(uniprotFile, summationFile, hierarchyFile);
   }
 
   private void writePathwayModel(PathwayModel model) throws UnknownHostException, IOException {
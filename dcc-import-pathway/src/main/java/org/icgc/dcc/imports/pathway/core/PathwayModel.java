@@ -21,6 +21,7 @@ import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.collect.Maps.newHashMap;
 import static lombok.AccessLevel.NONE;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,8 @@ import org.icgc.dcc.imports.pathway.model.PathwayUniprot;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 
 import lombok.Builder;
@@ -66,6 +69,15 @@ public class PathwayModel {
   Map<String, Boolean> reactomeHasDiagramById;
   Multimap<String, Pathway> pathwaysByUniprot;
 
+  /**
+   * Pathways are numbered by ordinal so that the inferred pathways of each Reactome id (itself and every pathway on one
+   * of its hierarchy paths) can be kept as a compact, de-duplicated ordinal array.
+   */
+  List<Pathway> pathwaysByOrdinal;
+  Map<String, Integer> ordinalsByReactomeId;
+  Map<String, int[]> inferredOrdinalsById;
+  Map<String, PathwaySegment> missingInferredPathwaysById;
+
   public void update() {
 
     //
@@ -81,6 +93,8 @@ public class PathwayModel {
     indexReactomeIdDiagrammed();
     log.info("Indexing pathway uniprots...");
     indexPathwayUniprots();
+    log.info("Indexing inferred pathways...");
+    indexInferredPathways();
   }
 
   public Iterable<String> getReactomeIds() {
@@ -95,6 +109,28 @@ public class PathwayModel {
     return pathwaysByUniprot.get(uniprot);
   }
 
+  public Pathway getPathway(int ordinal) {
+    return pathwaysByOrdinal.get(ordinal);
+  }
+
+  public int getPathwayOrdinal(String reactomeId) {
+    return ordinalsByReactomeId.get(reactomeId);
+  }
+
+  /**
+   * @return the ordinals of the pathway itself and of all pathways in its hierarchy
+   */
+  public int[] getInferredPathwayOrdinals(String reactomeId) {
+    return inferredOrdinalsById.get(reactomeId);
+  }
+
+  /**
+   * @return a segment in the hierarchy of {@code reactomeId} that has no pathway, or {@code null} if there is none
+   */
+  public PathwaySegment getMissingInferredPathway(String reactomeId) {
+    return missingInferredPathwaysById.get(reactomeId);
+  }
+
   public Collection<List<PathwaySegment>> getHierarchy(String reactomeId) {
     return hierarchies.get(reactomeId);
   }
@@ -124,6 +160,35 @@ public class PathwayModel {
     }
   }
 
+  private void indexInferredPathways() {
+    pathwaysByOrdinal = Lists.newArrayListWithCapacity(pathways.size());
+    ordinalsByReactomeId = Maps.newHashMapWithExpectedSize(pathways.size());
+    for (val entry : pathways.entrySet()) {
+      ordinalsByReactomeId.put(entry.getKey(), pathwaysByOrdinal.size());
+      pathwaysByOrdinal.add(entry.getValue());
+    }
+
+    inferredOrdinalsById = Maps.newHashMapWithExpectedSize(pathways.size());
+    missingInferredPathwaysById = newHashMap();
+    for (val reactomeId : pathways.keySet()) {
+      val inferredOrdinals = new BitSet();
+      inferredOrdinals.set(ordinalsByReactomeId.get(reactomeId));
+
+      for (val path : hierarchies.get(reactomeId)) {
+        for (val segment : path) {
+          val ordinal = ordinalsByReactomeId.get(segment.getReactomeId());
+          if (ordinal == null) {
+            missingInferredPathwaysById.putIfAbsent(reactomeId, segment);
+          } else {
+            inferredOrdinals.set(ordinal);
+          }
+        }
+      }
+
+      inferredOrdinalsById.put(reactomeId, inferredOrdinals.stream().toArray());
+    }
+  }
+
   private void createSummationPathways() {
     for (val summation : summations) {
       Pathway pathway = pathways.get(summation.getReactomeId());
@@ -154,7 +219,7 @@ public class PathwayModel {
 
       pathway.setReactomeId(uniprot.getReactomeId());
       pathway.setEvidenceCode(uniprot.getEvidenceCode());
-      pathway.getUniprots().add(uniprot.getUniprot());
+      pathway.getUniprots().addAll(uniprot.getUniprots());
 
       // If name wasn't in summation, use the name from uniprot file
       if (pathway.getReactomeName() == null) {
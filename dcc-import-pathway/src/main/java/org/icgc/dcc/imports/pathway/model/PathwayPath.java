@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.pathway.model;
+
+import java.util.AbstractList;
+import java.util.NoSuchElementException;
+
+import org.icgc.dcc.imports.geneset.model.pathway.PathwaySegment;
+
+import lombok.NonNull;
+
+/**
+ * Root path of a node in the pathway hierarchy.
+ * <p>
+ * Paths form a parent-pointer trie: each one holds only its last segment and a reference to its parent path. Prefixes
+ * are shared by all descendants instead of being copied at every depth. Immutable, with the equality semantics of
+ * {@link java.util.List}.
+ */
+public final class PathwayPath extends AbstractList<PathwaySegment> {
+
+  /**
+   * Constants.
+   */
+  public static final PathwayPath ROOT = new PathwayPath();
+
+  /**
+   * Data.
+   */
+  private final PathwayPath parent;
+  private final PathwaySegment segment;
+  private final int size;
+  private final int hashCode;
+
+  private PathwayPath() {
+    this.parent = null;
+    this.segment = null;
+    this.size = 0;
+    this.hashCode = 1;
+  }
+
+  private PathwayPath(PathwayPath parent, PathwaySegment segment) {
+    this.parent = parent;
+    this.segment = segment;
+    this.size = parent.size + 1;
+
+    // Same recurrence as List.hashCode()
+    this.hashCode = 31 * parent.hashCode + segment.hashCode();
+  }
+
+  /**
+   * @return the path of {@code segment} as a child of this path
+   */
+  public PathwayPath child(@NonNull PathwaySegment segment) {
+    return new PathwayPath(this, segment);
+  }
+
+  public PathwayPath getParent() {
+    return parent;
+  }
+
+  public PathwaySegment getLast() {
+    if (segment == null) {
+      throw new NoSuchElementException();
+    }
+
+    return segment;
+  }
+
+  @Override
+  public PathwaySegment get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    PathwayPath path = this;
+    for (int i = size - 1; i > index; i--) {
+      path = path.parent;
+    }
+
+    return path.segment;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+}
@@ -17,17 +17,26 @@
  */
 package org.icgc.dcc.imports.pathway.model;
 
+import java.util.Set;
+
 import lombok.Builder;
 import lombok.Value;
 
+/**
+ * The uniprot mappings of a single pathway.
+ */
 @Value
 @Builder
 public class PathwayUniprot {
 
   String reactomeId;
-  String uniprot;
   String name;
 
   String evidenceCode;
 
+  /**
+   * Mapped uniprots, limited to the gene universe if one was given. May be empty.
+   */
+  Set<String> uniprots;
+
 }
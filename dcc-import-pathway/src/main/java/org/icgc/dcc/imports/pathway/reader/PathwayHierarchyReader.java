@@ -17,23 +17,27 @@
  */
 package org.icgc.dcc.imports.pathway.reader;
 
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
-import static org.icgc.dcc.imports.pathway.util.PathwaySegmentConverter.convertPathwayNode;
+import static org.icgc.dcc.imports.pathway.util.PathwaySegmentConverter.convertPathwayElement;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Stack;
 
-import org.icgc.dcc.imports.core.util.Documents;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.icgc.dcc.imports.geneset.model.pathway.PathwaySegment;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
+import org.icgc.dcc.imports.pathway.model.PathwayPath;
 
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 
+import lombok.Cleanup;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,54 +49,65 @@ public class PathwayHierarchyReader {
    */
   private static final String REACTOME_PATHWAY_ELEMENT_NAME = "Pathway";
 
+  /**
+   * Marks open elements that are not part of the pathway hierarchy, such as reactions and anything nested in them.
+   */
+  private static final PathwayPath NO_PATH = PathwayPath.ROOT.child(PathwaySegment.builder().build());
+
   /**
    * Parses the supplied Reactome pathway hierarchy {@code hierarchyFile} to produce a mapping from pathway names to a
    * set of {@link PathwaySegment} lists.
+   * <p>
+   * The file is streamed and each root path is a {@link PathwayPath} view that shares its prefix with its parent.
    */
   public Multimap<String, List<PathwaySegment>> read(URL hierarchyFile) throws IOException {
     log.info("Reading pathway hierarchy from '{}'...", hierarchyFile);
-    val document = readDocument(hierarchyFile);
-    val root = document.getDocumentElement();
+    @Cleanup
+    val inputStream = hierarchyFile.openStream();
 
-    val segments = new Stack<PathwaySegment>();
-    val pathwayHierarchies = HashMultimap.<String, List<PathwaySegment>> create();
-
-    readNode(root, segments, pathwayHierarchies);
+    try {
+      @Cleanup("close")
+      val reader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+      val pathwayHierarchies = readHierarchies(reader);
 
-    log.info("Finished reading {} pathway hierarchies", formatCount(pathwayHierarchies.size()));
+      log.info("Finished reading {} pathway hierarchies", formatCount(pathwayHierarchies.size()));
 
-    return pathwayHierarchies;
+      return pathwayHierarchies;
+    } catch (XMLStreamException e) {
+      throw new IOException("Could not parse pathway hierarchy from '" + hierarchyFile + "'", e);
+    }
   }
 
-  private static void readNode(Node node, Stack<PathwaySegment> segments,
-      Multimap<String, List<PathwaySegment>> hierarchies) {
-    val children = node.getChildNodes();
-
-    for (int i = 0; i < children.getLength(); i++) {
-      val child = children.item(i);
-
-      if (isPathwayElement(child)) {
-        val segment = convertPathwayNode(child);
-
-        // Recurse
-        segments.push(segment);
-
-        // Keep track of path from root
-        hierarchies.put(segment.getReactomeId(), ImmutableList.copyOf(segments));
+  private static Multimap<String, List<PathwaySegment>> readHierarchies(XMLStreamReader reader)
+      throws XMLStreamException {
+    val pathwayHierarchies = HashMultimap.<String, List<PathwaySegment>> create();
 
-        readNode(child, segments, hierarchies);
-        segments.pop();
+    // Path of each open element. Only the children of the document element and of pathways are part of the hierarchy.
+    val paths = new ArrayDeque<PathwayPath>();
+    while (reader.hasNext()) {
+      val event = reader.next();
+      if (event == START_ELEMENT) {
+        if (paths.isEmpty()) {
+          paths.push(PathwayPath.ROOT);
+        } else if (paths.peek() != NO_PATH && isPathwayElement(reader)) {
+          val path = paths.peek().child(convertPathwayElement(reader));
+
+          // Keep track of path from root
+          pathwayHierarchies.put(path.getLast().getReactomeId(), path);
+          paths.push(path);
+        } else {
+          paths.push(NO_PATH);
+        }
+      } else if (event == END_ELEMENT) {
+        paths.pop();
       }
     }
-  }
 
-  private static boolean isPathwayElement(Node currentNode) {
-    return currentNode.getNodeType() == Node.ELEMENT_NODE
-        && currentNode.getNodeName().equals(REACTOME_PATHWAY_ELEMENT_NAME);
+    return pathwayHierarchies;
   }
 
-  private static Document readDocument(URL url) throws IOException {
-    return Documents.parseDocument(url);
+  private static boolean isPathwayElement(XMLStreamReader reader) {
+    return reader.getLocalName().equals(REACTOME_PATHWAY_ELEMENT_NAME);
   }
 
 }
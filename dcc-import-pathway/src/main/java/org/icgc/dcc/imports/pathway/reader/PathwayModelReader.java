@@ -19,32 +19,58 @@ package org.icgc.dcc.imports.pathway.reader;
 
 import static com.google.common.base.Stopwatch.createStarted;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.imports.core.GeneUniprotIdsReader.readGeneUniverse;
+import static org.icgc.dcc.imports.core.util.StageExecutor.join;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Set;
 
+import org.icgc.dcc.imports.core.util.StageExecutor;
 import org.icgc.dcc.imports.pathway.core.PathwayModel;
 import org.icgc.dcc.imports.pathway.model.Pathway;
 
 import com.google.common.collect.Maps;
+import com.mongodb.MongoClientURI;
 
+import lombok.Cleanup;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
+@RequiredArgsConstructor
 public class PathwayModelReader {
 
+  /**
+   * Constants.
+   */
+  private static final int STAGE_THREAD_COUNT = 3;
+
+  /**
+   * Optional source of the gene universe that is pushed down into the uniprot reader.
+   */
+  private final MongoClientURI mongoUri;
+
+  public PathwayModelReader() {
+    this(null);
+  }
+
   public PathwayModel read(URL uniprotFile, URL summationFile, URL hierarchyFile) throws IOException {
     val watch = createStarted();
 
-    log.info("Reading pathway summations...");
-    val summations = new PathwaySummationReader().read(summationFile);
+    @Cleanup
+    val stages = new StageExecutor("pathway", STAGE_THREAD_COUNT);
 
-    log.info("Reading pathway uniprots...");
-    val uniprots = new PathwayUniprotReader().read(uniprotFile);
+    log.info("Reading pathway summations, uniprots and hierarchies...");
+    val summationsStage = stages.submit("summations", () -> new PathwaySummationReader().read(summationFile));
+    val uniprotsStage = stages.submit("uniprots",
+        () -> new PathwayUniprotReader(readGeneUniprotIds()).read(uniprotFile));
+    val hierarchiesStage = stages.submit("hierarchies", () -> new PathwayHierarchyReader().read(hierarchyFile));
 
-    log.info("Reading pathway hierarchies...");
-    val hierarchies = new PathwayHierarchyReader().read(hierarchyFile);
+    val summations = join(summationsStage);
+    val uniprots = join(uniprotsStage);
+    val hierarchies = join(hierarchiesStage);
 
     log.info("Creating pathway model...");
     val model = PathwayModel.builder()
@@ -57,10 +83,14 @@ public class PathwayModelReader {
     log.info("Updating pathway model...");
     model.update();
 
-    log.info("Read {} pathway summations, {} uniprots and {} hierarchies in {}",
+    log.info("Read {} pathway summations, {} uniprot pathways and {} hierarchies in {}",
         formatCount(summations), formatCount(uniprots), formatCount(hierarchies.size()), watch);
 
     return model;
   }
 
+  private Set<String> readGeneUniprotIds() {
+    return mongoUri == null ? null : readGeneUniverse(mongoUri);
+  }
+
 }
@@ -17,71 +17,128 @@
  */
 package org.icgc.dcc.imports.pathway.reader;
 
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 
-import org.icgc.dcc.common.core.model.FieldNames;
-import org.icgc.dcc.imports.core.util.AbstractMapReader;
 import org.icgc.dcc.imports.pathway.model.PathwayUniprot;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
+import lombok.Cleanup;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Streams {@code UniProt2Reactome_All_Levels.txt}, folding the human rows into one {@link PathwayUniprot} per pathway.
+ * <p>
+ * The file covers all species, so rows are rejected on the raw species column before they are split into fields.
+ */
 @Slf4j
-public class PathwayUniprotReader extends AbstractMapReader {
+public class PathwayUniprotReader {
 
   /**
    * Constants.
    */
-  // @formatter:off
   private static final String HOMO_SAPIEN = "Homo sapiens";
-  private static final String[] CSV_HEADER = { 
-          FieldNames.PATHWAY_UNIPROT_ID, 
-          FieldNames.PATHWAY_REACTOME_ID, 
-          FieldNames.PATHWAY_URL, // Not used
-          FieldNames.PATHWAY_NAME, 
-          FieldNames.PATHWAY_EVIDENCE_CODE, 
-          FieldNames.PATHWAY_SPECIES
-      };
-  // @formatter:on
+  private static final char FIELD_SEPARATOR = '\t';
+  private static final String HOMO_SAPIEN_SUFFIX = FIELD_SEPARATOR + HOMO_SAPIEN;
+
+  /**
+   * Column indexes. The {@code url} column at index 2 is not used.
+   */
+  private static final int UNIPROT_ID_INDEX = 0;
+  private static final int REACTOME_ID_INDEX = 1;
+  private static final int NAME_INDEX = 3;
+  private static final int EVIDENCE_CODE_INDEX = 4;
+  private static final int SPECIES_INDEX = 5;
+  private static final int FIELD_COUNT = 6;
+
+  /**
+   * Optional gene universe. Mappings of uniprots outside of it are read for their pathway metadata only.
+   */
+  private final Set<String> geneUniprotIds;
 
   public PathwayUniprotReader() {
-    super(TAB_FIELD_SEPARATOR);
+    this(null);
+  }
+
+  public PathwayUniprotReader(Set<String> geneUniprotIds) {
+    this.geneUniprotIds = geneUniprotIds;
   }
 
   @SneakyThrows
-  public Iterable<PathwayUniprot> read(URL uniprotFile) {
+  public Collection<PathwayUniprot> read(URL uniprotFile) {
     log.info("Reading pathway-uniprots from {}...", uniprotFile);
 
-    val uniprots = ImmutableList.<PathwayUniprot> builder();
+    @Cleanup
+    val reader = new BufferedReader(new InputStreamReader(uniprotFile.openStream(), UTF_8));
 
-    for (val record : readRecords(CSV_HEADER, uniprotFile.openStream())) {
-      val human = record.get(FieldNames.PATHWAY_SPECIES).equals(HOMO_SAPIEN);
-      if (!human) {
+    val pathwayUniprots = Maps.<String, PathwayUniprot> newLinkedHashMap();
+    int rowCount = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (!line.endsWith(HOMO_SAPIEN_SUFFIX)) {
         continue;
       }
 
-      val uniprot = record.get(FieldNames.PATHWAY_UNIPROT_ID).trim();
-      val reactomeId = record.get(FieldNames.PATHWAY_REACTOME_ID).trim();
-      val evidenceCode = record.get(FieldNames.PATHWAY_EVIDENCE_CODE).trim();
-      val name = record.get(FieldNames.PATHWAY_NAME).trim();
+      val fields = line.split(String.valueOf(FIELD_SEPARATOR), -1);
+      checkState(fields.length == FIELD_COUNT && fields[SPECIES_INDEX].equals(HOMO_SAPIEN),
+          "Malformed pathway-uniprot row: '%s'", line);
+
+      addRow(pathwayUniprots, fields);
+      rowCount++;
+    }
+
+    log.info("Finished reading {} pathway-uniprots of {} pathways", formatCount(rowCount),
+        formatCount(pathwayUniprots.size()));
+
+    return pathwayUniprots.values();
+  }
+
+  private void addRow(Map<String, PathwayUniprot> pathwayUniprots, String[] fields) {
+    val reactomeId = fields[REACTOME_ID_INDEX].trim();
+    val evidenceCode = fields[EVIDENCE_CODE_INDEX].trim();
 
-      val pathwyUniprot = PathwayUniprot.builder()
-          .uniprot(uniprot)
+    PathwayUniprot pathwayUniprot = pathwayUniprots.get(reactomeId);
+    if (pathwayUniprot == null) {
+      // The first row names the pathway
+      pathwayUniprot = PathwayUniprot.builder()
           .reactomeId(reactomeId)
+          .name(fields[NAME_INDEX].trim())
           .evidenceCode(evidenceCode)
-          .name(name)
+          .uniprots(Sets.<String> newHashSet())
           .build();
+      pathwayUniprots.put(reactomeId, pathwayUniprot);
+    } else if (!pathwayUniprot.getEvidenceCode().equals(evidenceCode)) {
+      // The last row determines the evidence code
+      pathwayUniprot = PathwayUniprot.builder()
+          .reactomeId(reactomeId)
+          .name(pathwayUniprot.getName())
+          .evidenceCode(evidenceCode)
+          .uniprots(pathwayUniprot.getUniprots())
+          .build();
+      pathwayUniprots.put(reactomeId, pathwayUniprot);
+    }
 
-      uniprots.add(pathwyUniprot);
+    // Pathway name and evidence code still apply when the uniprot is not that of a known gene
+    val uniprotId = fields[UNIPROT_ID_INDEX].trim();
+    if (isInGeneUniverse(uniprotId)) {
+      pathwayUniprot.getUniprots().add(uniprotId);
     }
+  }
 
-    log.info("Finished reading {} pathway-uniprots", formatCount(uniprots.build()));
-    return uniprots.build();
+  private boolean isInGeneUniverse(String uniprotId) {
+    return geneUniprotIds == null || geneUniprotIds.contains(uniprotId);
   }
 
 }
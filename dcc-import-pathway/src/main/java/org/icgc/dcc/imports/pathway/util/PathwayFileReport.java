@@ -113,7 +113,7 @@ public class PathwayFileReport {
     // Uniprots
     if (reportUniprots) {
       val uniprots1 = genes.values().stream().collect(toSet());
-      val uniprots2 = stream(uniprots).map(s -> s.getUniprot()).collect(toSet());
+      val uniprots2 = stream(uniprots).flatMap(s -> s.getUniprots().stream()).collect(toSet());
 
       log.info("");
       banner("Uniprot Differences");
@@ -18,17 +18,16 @@
 package org.icgc.dcc.imports.pathway.util;
 
 import static com.google.common.base.Preconditions.checkState;
-import static java.util.Collections.disjoint;
 import static org.icgc.dcc.imports.core.util.Genes.getGeneUniprotIds;
 import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.DIRECT;
 import static org.icgc.dcc.imports.geneset.model.GeneSetAnnotation.INFERRED;
 import static org.icgc.dcc.imports.geneset.model.GeneSetType.PATHWAY;
 
+import java.util.BitSet;
 import java.util.Set;
 
 import org.icgc.dcc.imports.geneset.model.gene.GeneGeneSet;
 import org.icgc.dcc.imports.pathway.core.PathwayModel;
-import org.icgc.dcc.imports.pathway.model.Pathway;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Sets;
@@ -50,12 +49,13 @@ public class PathwayGeneGeneSetsBuilder {
       val geneSets = Sets.<GeneGeneSet> newHashSet();
       val geneUniprotIds = getGeneUniprotIds(gene);
 
-      val inferredPathways = getInferredPathways(geneUniprotIds);
-      for (val inferredPathway : inferredPathways) {
-        checkState(inferredPathway != null, "Inferred pathway is null for uniprot ids %s and associated gene: %s",
-            geneUniprotIds, gene);
+      val directOrdinals = new BitSet();
+      val inferredOrdinals = new BitSet();
+      resolvePathways(geneUniprotIds, directOrdinals, inferredOrdinals);
 
-        val direct = isDirect(geneUniprotIds, inferredPathway);
+      for (val ordinal : inferredOrdinals.stream().toArray()) {
+        val inferredPathway = model.getPathway(ordinal);
+        val direct = directOrdinals.get(ordinal);
         log.debug("inferredPathway: {} ", inferredPathway);
         val geneSet = GeneGeneSet.builder()
             .id(inferredPathway.getReactomeId())
@@ -73,34 +73,24 @@ public class PathwayGeneGeneSetsBuilder {
     }
   }
 
-  private Set<Pathway> getInferredPathways(Set<String> geneUniprotIds) {
-    val uniqueInferredPathways = Sets.<Pathway> newHashSet();
-
+  /**
+   * Collects the pathways a gene's uniprots are directly in (via the inverted uniprot index) and the union of their
+   * precomputed inferred pathways.
+   */
+  private void resolvePathways(Set<String> geneUniprotIds, BitSet directOrdinals, BitSet inferredOrdinals) {
     for (val geneUniprotId : geneUniprotIds) {
-      val uniprotPathways = model.getPathways(geneUniprotId);
-      for (val uniprotPathway : uniprotPathways) {
-        // Hierarchy doesn't include "self"
-        uniqueInferredPathways.add(uniprotPathway);
-
-        // These are strictly non-"self"
-        val uniprotHierarchy = model.getHierarchy(uniprotPathway.getReactomeId());
-        for (val path : uniprotHierarchy) {
-          for (val pathSegment : path) {
-            val inferredPathway = model.getPathway(pathSegment.getReactomeId());
-            checkState(inferredPathway != null, "Inferred pathway is missing for uniprot ids %s and pathway segment %s",
-                geneUniprotIds, pathSegment);
-
-            uniqueInferredPathways.add(inferredPathway);
-          }
+      for (val uniprotPathway : model.getPathways(geneUniprotId)) {
+        val reactomeId = uniprotPathway.getReactomeId();
+        val missingPathway = model.getMissingInferredPathway(reactomeId);
+        checkState(missingPathway == null, "Inferred pathway is missing for uniprot ids %s and pathway segment %s",
+            geneUniprotIds, missingPathway);
+
+        directOrdinals.set(model.getPathwayOrdinal(reactomeId));
+        for (val ordinal : model.getInferredPathwayOrdinals(reactomeId)) {
+          inferredOrdinals.set(ordinal);
         }
       }
     }
-
-    return uniqueInferredPathways;
-  }
-
-  private static boolean isDirect(@NonNull Set<String> geneUniprotIds, @NonNull Pathway inferredPathway) {
-    return !disjoint(inferredPathway.getUniprots(), geneUniprotIds);
   }
 
 }
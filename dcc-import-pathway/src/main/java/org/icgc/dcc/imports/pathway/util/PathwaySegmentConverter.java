@@ -22,9 +22,10 @@ import static java.lang.Boolean.parseBoolean;
 import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.imports.pathway.util.Reactome.REACTOME_PREFIX;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.icgc.dcc.imports.geneset.model.pathway.PathwaySegment;
-import org.w3c.dom.Node;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -42,30 +43,33 @@ public final class PathwaySegmentConverter {
   private static final String REACTOME_DISPLAY_NAME_ATTRIBUTE_NAME = "displayName";
   private static final String REACTOME_HAS_DIAGRAM_ATTRIBUTE_NAME = "hasDiagram";
 
-  public static PathwaySegment convertPathwayNode(@NonNull Node pathwayNode) {
+  /**
+   * Converts the {@code Pathway} element at the current position of {@code pathwayElement}.
+   */
+  public static PathwaySegment convertPathwayElement(@NonNull XMLStreamReader pathwayElement) {
     return PathwaySegment.builder()
-        .reactomeId(getReactomeId(pathwayNode).trim())
-        .reactomeName(getDisplayName(pathwayNode).trim())
-        .diagrammed(getHasDiagram(pathwayNode))
+        .reactomeId(getReactomeId(pathwayElement).trim())
+        .reactomeName(getDisplayName(pathwayElement).trim())
+        .diagrammed(getHasDiagram(pathwayElement))
         .build();
   }
 
-  private static String getReactomeId(Node pathwayNode) {
+  private static String getReactomeId(XMLStreamReader pathwayElement) {
     // From @jweiser:
     // Everything in the RESTful results is human and should map without a problem by just appending the prefix
     // For human data, we literally form the stable id by appending R-HSA- to our internal ids.
 
     // Convert to stable id
-    val dbId = getAttributeValue(pathwayNode, REACTOME_DB_ID);
+    val dbId = getAttributeValue(pathwayElement, REACTOME_DB_ID);
     return REACTOME_PREFIX + dbId;
   }
 
-  private static boolean getHasDiagram(Node pathwayNode) {
-    return parseBoolean(firstNonNull(getAttributeValue(pathwayNode, REACTOME_HAS_DIAGRAM_ATTRIBUTE_NAME), "false"));
+  private static boolean getHasDiagram(XMLStreamReader pathwayElement) {
+    return parseBoolean(firstNonNull(getAttributeValue(pathwayElement, REACTOME_HAS_DIAGRAM_ATTRIBUTE_NAME), "false"));
   }
 
-  private static String getDisplayName(Node pathwayNode) {
-    val value = getAttributeValue(pathwayNode, REACTOME_DISPLAY_NAME_ATTRIBUTE_NAME);
+  private static String getDisplayName(XMLStreamReader pathwayElement) {
+    val value = getAttributeValue(pathwayElement, REACTOME_DISPLAY_NAME_ATTRIBUTE_NAME);
     val escaped = StringEscapeUtils.unescapeHtml4(value);
     if (!value.equals(escaped)) {
       log.warn("Needed to escape: '{}' to '{}'", value, escaped);
@@ -74,10 +78,8 @@ public final class PathwaySegmentConverter {
     return escaped;
   }
 
-  private static String getAttributeValue(Node pathwayNode, String attributeName) {
-    val attribute = pathwayNode.getAttributes().getNamedItem(attributeName);
-
-    return attribute == null ? null : attribute.getNodeValue();
+  private static String getAttributeValue(XMLStreamReader pathwayElement, String attributeName) {
+    return pathwayElement.getAttributeValue(null, attributeName);
   }
 
 }
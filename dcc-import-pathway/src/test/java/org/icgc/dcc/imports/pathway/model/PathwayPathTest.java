@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.imports.pathway.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.imports.geneset.model.pathway.PathwaySegment;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class PathwayPathTest {
+
+  @Test
+  public void testListSemantics() {
+    val a = segment("R-HSA-1");
+    val b = segment("R-HSA-2");
+    val c = segment("R-HSA-3");
+
+    val path = PathwayPath.ROOT.child(a).child(b).child(c);
+
+    assertThat(path).containsExactly(a, b, c);
+    assertThat(path.get(1)).isSameAs(b);
+    assertThat(path.getLast()).isSameAs(c);
+    assertThat(path).isEqualTo(ImmutableList.of(a, b, c));
+    assertThat(path.hashCode()).isEqualTo(ImmutableList.of(a, b, c).hashCode());
+    assertThat(path.getParent()).isEqualTo(ImmutableList.of(a, b));
+    assertThat(PathwayPath.ROOT).isEmpty();
+  }
+
+  private static PathwaySegment segment(String reactomeId) {
+    return PathwaySegment.builder().reactomeId(reactomeId).reactomeName(reactomeId).build();
+  }
+
+}
@@ -67,6 +67,7 @@ public class VariantImporter implements SourceImporter {
     if(targetDir.exists()) targetDir.delete();
 
     Jongo jongo = Jongos.createJongo(mongoUri);
+    int parallelism = Runtime.getRuntime().availableProcessors();
 
     String civicFilename = "nightly-ClinicalEvidenceSummaries.tsv";
     Downloader civicDownloader = new ShellCommandDownloader("https://civic.genome.wustl.edu/downloads/nightly/" + civicFilename, tmpPath, civicFilename);
@@ -75,13 +76,13 @@ public class VariantImporter implements SourceImporter {
 
     String clinvarSummaryFilename = "variant_summary.txt.gz";
     Downloader clinvarSummaryDownloader = new ShellCommandDownloader("ftp://ftp.ncbi.nlm.nih.gov/pub/clinvar/tab_delimited/" + clinvarSummaryFilename, tmpPath, clinvarSummaryFilename);
-    UnCompressor clinvarSummaryUnzipper = new GzipFileUnCompressor("variant_summary.txt");
-    FileReader<ClinvarVariantSummary> clinvarSummaryReader = new ClinvarVariantSummaryFileReader(new ClinvarSummaryFilter());
+    UnCompressor clinvarSummaryUnzipper = new GzipFileUnCompressor();
+    FileReader<ClinvarVariantSummary> clinvarSummaryReader = new ClinvarVariantSummaryFileReader(new ClinvarSummaryFilter(), parallelism);
 
     String clinvarAlleleFilename = "variation_allele.txt.gz";
     Downloader clinvarAlleleDownloader = new ShellCommandDownloader("ftp://ftp.ncbi.nlm.nih.gov/pub/clinvar/tab_delimited/" + clinvarAlleleFilename, tmpPath, clinvarAlleleFilename);
-    UnCompressor clinvarAlleleUnzipper = new GzipFileUnCompressor("variation_allele.txt");
-    FileReader<ClinvarVariationAllele> clinvarAlleleReader = new ClinvarVariationAlleleFileReader();
+    UnCompressor clinvarAlleleUnzipper = new GzipFileUnCompressor();
+    FileReader<ClinvarVariationAllele> clinvarAlleleReader = new ClinvarVariationAlleleFileReader(parallelism);
 
     ClinvarVariantWriter clinvarWriter = new ClinvarVariantWriter(jongo, clinvarCollectionName);
     clinvarWriter.cleanCollection();
@@ -1,6 +1,6 @@
 package org.icgc.dcc.imports.variant.processor.api;
 
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 
 /**
  * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
@@ -20,5 +20,5 @@ import io.reactivex.Observable;
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 public interface ContentWriter<T> {
-  Observable<Object> write(Observable<T> instance);
+  Flowable<Object> write(Flowable<T> instance);
 }
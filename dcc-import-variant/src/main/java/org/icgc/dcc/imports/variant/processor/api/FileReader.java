@@ -1,5 +1,6 @@
 package org.icgc.dcc.imports.variant.processor.api;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 
 import java.io.File;
@@ -23,5 +24,14 @@ import java.io.Serializable;
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 public interface FileReader<T> extends Serializable{
-  Observable<T> extract(Observable<File> input);
+
+  /**
+   * Lazily reads the records of {@code file}, only reading ahead as far as requested. The file is closed on
+   * completion, error or cancellation.
+   */
+  Flowable<T> read(File file);
+
+  default Observable<T> extract(Observable<File> input) {
+    return input.concatMap(file -> read(file).toObservable());
+  }
 }
@@ -1,12 +1,8 @@
 package org.icgc.dcc.imports.variant.processor.impl.civic;
 
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 import org.icgc.dcc.imports.variant.model.CivicClinicalEvidenceSummary;
-import org.icgc.dcc.imports.variant.processor.api.FileReader;
-
-import java.io.BufferedReader;
-import java.io.File;
-import java.util.stream.Collectors;
+import org.icgc.dcc.imports.variant.processor.impl.common.LineFileReader;
 
 /**
  * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
@@ -25,20 +21,17 @@ import java.util.stream.Collectors;
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-
-public class CivicClinicalEvidenceSummaryFileReader implements FileReader<CivicClinicalEvidenceSummary>{
+public class CivicClinicalEvidenceSummaryFileReader extends LineFileReader<CivicClinicalEvidenceSummary> {
 
   private CivicClinicalEvidenceSummary.Builder builder = new CivicClinicalEvidenceSummary.Builder();
 
   @Override
-  public Observable<CivicClinicalEvidenceSummary> extract(Observable<File> input) {
-    return
-        input.flatMap(file -> {
-          BufferedReader reader = new BufferedReader(new java.io.FileReader(file));
-          return
-              Observable.fromIterable(
-                  reader.lines().skip(1).collect(Collectors.toList())
-              ).map(builder::build);
-        });
+  protected Flowable<String> selectLines(Flowable<String> lines) {
+    return lines.skip(1);
+  }
+
+  @Override
+  protected CivicClinicalEvidenceSummary parse(String line) {
+    return builder.build(line);
   }
 }
@@ -1,6 +1,7 @@
 package org.icgc.dcc.imports.variant.processor.impl.civic;
 
-import io.reactivex.Observable;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.icgc.dcc.imports.variant.model.CivicClinicalEvidenceSummary;
@@ -33,10 +34,10 @@ public class CivicClinicalEvidenceSummaryProcessor implements VariantDataProcess
 
   @Override
   public void process() {
-    Observable
-        .defer(() -> downloader.download())
-        .compose(reader::extract)
+    Flowable
+        .defer(() -> downloader.download().toFlowable(BackpressureStrategy.BUFFER))
+        .concatMap(reader::read)
         .compose(writer::write)
-        .subscribe();
+        .blockingSubscribe();
   }
 }
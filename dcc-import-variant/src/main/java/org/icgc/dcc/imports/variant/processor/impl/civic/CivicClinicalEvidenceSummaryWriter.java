@@ -1,12 +1,11 @@
 package org.icgc.dcc.imports.variant.processor.impl.civic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.icgc.dcc.imports.variant.model.CivicClinicalEvidenceSummary;
 import org.icgc.dcc.imports.variant.processor.api.ContentWriter;
+import org.icgc.dcc.imports.variant.processor.impl.common.BulkInserts;
 import org.jongo.Jongo;
 import org.jongo.MongoCollection;
 
@@ -34,19 +33,15 @@ public class CivicClinicalEvidenceSummaryWriter implements ContentWriter<CivicCl
 
   @NonNull private Jongo jongo;
   @NonNull private String collectionName;
-  private ObjectMapper mapper = new ObjectMapper();
 
   public void cleanCollection() {
     jongo.getCollection(collectionName).drop();
   }
 
   @Override
-  public Observable<Object> write(Observable<CivicClinicalEvidenceSummary> instance) {
+  public Flowable<Object> write(Flowable<CivicClinicalEvidenceSummary> instance) {
     this.cleanCollection();
     MongoCollection collection = jongo.getCollection(collectionName);
-    return
-      instance.map(item ->
-        collection.insert( mapper.convertValue(item, ObjectNode.class) )
-      );
+    return BulkInserts.insert(instance, collection);
   }
 }
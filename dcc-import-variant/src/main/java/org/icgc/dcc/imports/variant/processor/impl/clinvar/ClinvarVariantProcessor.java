@@ -1,7 +1,9 @@
 package org.icgc.dcc.imports.variant.processor.impl.clinvar;
 
-import io.reactivex.Observable;
-import io.reactivex.Single;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.icgc.dcc.imports.variant.model.ClinvarVariant;
@@ -12,7 +14,9 @@ import org.icgc.dcc.imports.variant.processor.api.FileReader;
 import org.icgc.dcc.imports.variant.processor.api.UnCompressor;
 import org.icgc.dcc.imports.variant.processor.api.VariantDataProcessor;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,6 +39,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClinvarVariantProcessor implements VariantDataProcessor {
 
+  private static final int EXPECTED_SUMMARY_COUNT = 1 << 16;
+
   @NonNull
   private Downloader summaryDownloader;
   @NonNull private UnCompressor summaryUnzipper;
@@ -46,33 +52,34 @@ public class ClinvarVariantProcessor implements VariantDataProcessor {
 
   @Override
   public void process() {
+    // Only the filtered summaries are held in memory; alleles are read on demand and streamed against them, and each
+    // joined variant is handed to the writer as soon as it is built
+    readFiles(summaryDownloader, summaryUnzipper).concatMap(summaryReader::read)
+        .collect(() -> ArrayListMultimap.<Integer, ClinvarVariantSummary>create(EXPECTED_SUMMARY_COUNT, 1),
+            (summaries, summary) -> summaries.put(summary.getAlleleID(), summary))
+        .flatMapPublisher(summaries ->
+            readFiles(alleleDownloader, alleleUnzipper).concatMap(alleleReader::read)
+                .concatMapIterable(allele -> join(summaries, allele)))
+        .compose(writer::write)
+        .blockingSubscribe();
+  }
+
+  private static Flowable<File> readFiles(Downloader downloader, UnCompressor unzipper) {
+    return downloader.download().compose(unzipper::unzip).toFlowable(BackpressureStrategy.BUFFER);
+  }
 
-      Single.zip(
-        summaryDownloader.download().compose(summaryUnzipper::unzip).compose(summaryReader::extract).toMultimap(summary -> summary.getAlleleID()),
-        alleleDownloader.download().compose(alleleUnzipper::unzip).compose(alleleReader::extract).toList(),
-        (summaries, alleles) -> {
+  private static List<ClinvarVariant> join(ListMultimap<Integer, ClinvarVariantSummary> summaries,
+      ClinvarVariationAllele allele) {
+    List<ClinvarVariantSummary> matches = summaries.get(allele.getAlleleID());
+    if (matches.isEmpty()) {
+      return Collections.emptyList();
+    }
 
-          return
-            alleles.stream().<List<ClinvarVariant>>reduce(
-                new ArrayList<ClinvarVariant>(),
-                (list, allele) -> {
-                  Iterable<ClinvarVariantSummary> iter = summaries.get(allele.getAlleleID());
-                  if(iter != null) {
-                    for(ClinvarVariantSummary summary: iter){
-                      list.add(ClinvarVariant.Builder.build(summary, allele));
-                    }
-                  }
-                  return list;
-                },
-                (list1, list2) -> {
-                  List<ClinvarVariant> newList = new ArrayList<>();
-                  newList.addAll(list1);
-                  newList.addAll(list2);
-                  return newList;
-                }
-            );
-        }
-      ).toObservable().flatMap(list -> Observable.<ClinvarVariant>fromIterable(list)).compose(writer::write).subscribe();
+    List<ClinvarVariant> variants = new ArrayList<>(matches.size());
+    for (ClinvarVariantSummary summary : matches) {
+      variants.add(ClinvarVariant.Builder.build(summary, allele));
+    }
 
+    return variants;
   }
 }
@@ -1,15 +1,10 @@
 package org.icgc.dcc.imports.variant.processor.impl.clinvar;
 
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.icgc.dcc.imports.variant.model.ClinvarVariantSummary;
 import org.icgc.dcc.imports.variant.processor.api.ClinvarFilter;
-import org.icgc.dcc.imports.variant.processor.api.FileReader;
-
-import java.io.BufferedReader;
-import java.io.File;
-import java.util.stream.Collectors;
+import org.icgc.dcc.imports.variant.processor.impl.common.LineFileReader;
 
 /**
  * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
@@ -28,24 +23,32 @@ import java.util.stream.Collectors;
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-@RequiredArgsConstructor
-public class ClinvarVariantSummaryFileReader implements FileReader<ClinvarVariantSummary>{
+public class ClinvarVariantSummaryFileReader extends LineFileReader<ClinvarVariantSummary> {
 
-  @NonNull
   private ClinvarFilter filter;
   private ClinvarVariantSummary.Builder builder = new ClinvarVariantSummary.Builder();
 
+  public ClinvarVariantSummaryFileReader(@NonNull ClinvarFilter filter) {
+    this(filter, 1);
+  }
+
+  public ClinvarVariantSummaryFileReader(@NonNull ClinvarFilter filter, int parallelism) {
+    super(parallelism);
+    this.filter = filter;
+  }
+
   @Override
-  public Observable<ClinvarVariantSummary> extract(Observable<File> input) {
+  protected Flowable<String> selectLines(Flowable<String> lines) {
+    return lines.skip(1);
+  }
 
-    return
-      input.flatMap(file -> {
-        BufferedReader reader = new BufferedReader(new java.io.FileReader(file));
-        return
-            Observable.fromIterable(
-                reader.lines().skip(1).collect(Collectors.toList())
-            ).map(builder::build);
-      }).filter(filter::predicate);
+  @Override
+  protected ClinvarVariantSummary parse(String line) {
+    return builder.build(line);
+  }
 
+  @Override
+  protected boolean accept(ClinvarVariantSummary summary) {
+    return filter.predicate(summary);
   }
 }
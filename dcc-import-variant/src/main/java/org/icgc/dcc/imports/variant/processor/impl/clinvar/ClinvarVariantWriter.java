@@ -1,12 +1,11 @@
 package org.icgc.dcc.imports.variant.processor.impl.clinvar;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.icgc.dcc.imports.variant.model.ClinvarVariant;
 import org.icgc.dcc.imports.variant.processor.api.ContentWriter;
+import org.icgc.dcc.imports.variant.processor.impl.common.BulkInserts;
 import org.jongo.Jongo;
 import org.jongo.MongoCollection;
 
@@ -32,7 +31,6 @@ public class ClinvarVariantWriter implements ContentWriter<ClinvarVariant>{
 
   @NonNull private Jongo jongo;
   @NonNull private String collectionName;
-  private ObjectMapper mapper = new ObjectMapper();
 
   public void cleanCollection() {
     jongo.getCollection(collectionName).drop();
@@ -40,11 +38,8 @@ public class ClinvarVariantWriter implements ContentWriter<ClinvarVariant>{
 
 
   @Override
-  public Observable<Object> write(Observable<ClinvarVariant> instance) {
+  public Flowable<Object> write(Flowable<ClinvarVariant> instance) {
     MongoCollection collection = jongo.getCollection(collectionName);
-    return
-    instance.map(item ->
-       collection.insert( mapper.convertValue(item, ObjectNode.class) )
-    );
+    return BulkInserts.insert(instance, collection);
   }
 }
@@ -1,12 +1,8 @@
 package org.icgc.dcc.imports.variant.processor.impl.clinvar;
 
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 import org.icgc.dcc.imports.variant.model.ClinvarVariationAllele;
-import org.icgc.dcc.imports.variant.processor.api.FileReader;
-
-import java.io.BufferedReader;
-import java.io.File;
-import java.util.stream.Collectors;
+import org.icgc.dcc.imports.variant.processor.impl.common.LineFileReader;
 
 /**
  * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
@@ -25,19 +21,25 @@ import java.util.stream.Collectors;
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-
-public class ClinvarVariationAlleleFileReader implements FileReader<ClinvarVariationAllele> {
+public class ClinvarVariationAlleleFileReader extends LineFileReader<ClinvarVariationAllele> {
 
   private ClinvarVariationAllele.Builder builder = new ClinvarVariationAllele.Builder();
+
+  public ClinvarVariationAlleleFileReader() {
+    this(1);
+  }
+
+  public ClinvarVariationAlleleFileReader(int parallelism) {
+    super(parallelism);
+  }
+
   @Override
-  public Observable<ClinvarVariationAllele> extract(Observable<File> input) {
+  protected Flowable<String> selectLines(Flowable<String> lines) {
+    return lines.filter(line -> !line.startsWith("#"));
+  }
 
-    return
-      input.flatMap(file -> {
-        BufferedReader reader = new BufferedReader(new java.io.FileReader(file));
-        return Observable.fromIterable(
-            reader.lines().filter(line -> !line.startsWith("#")).collect(Collectors.toList())
-        ).map(builder::build);
-      });
+  @Override
+  protected ClinvarVariationAllele parse(String line) {
+    return builder.build(line);
   }
 }
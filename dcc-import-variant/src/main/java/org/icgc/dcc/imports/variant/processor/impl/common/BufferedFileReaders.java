@@ -0,0 +1,56 @@
+package org.icgc.dcc.imports.variant.processor.impl.common;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
+ * <p>
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Opens plain or gzipped (by {@code .gz} extension) text files for reading through large buffers. Gzipped files are
+ * inflated on a separate thread while the caller parses, instead of being uncompressed to disk first.
+ */
+public class BufferedFileReaders {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int READ_AHEAD_CHUNK_COUNT = 4;
+
+  private BufferedFileReaders() {
+  }
+
+  public static BufferedReader open(File file) throws IOException {
+    InputStream input = new FileInputStream(file);
+    if (isGzipped(file)) {
+      input = new ReadAheadInputStream(new GZIPInputStream(input, BUFFER_SIZE), file.getName(), BUFFER_SIZE,
+          READ_AHEAD_CHUNK_COUNT);
+    }
+
+    return new BufferedReader(new InputStreamReader(input, UTF_8), BUFFER_SIZE);
+  }
+
+  public static boolean isGzipped(File file) {
+    return file.getName().endsWith(".gz");
+  }
+}
@@ -0,0 +1,63 @@
+package org.icgc.dcc.imports.variant.processor.impl.common;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.jongo.MongoCollection;
+
+import java.util.List;
+
+/**
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
+ * <p>
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Buffers documents by count and inserts each buffer with a single multi-document insert. Documents are marshalled
+ * straight from the model to BSON by Jongo, and a few batches may be in flight at once.
+ * <p>
+ * Upstream is only requested as batches complete, so at most {@code batchSize * (maxBatchesInFlight + 1)} documents
+ * are held in memory regardless of how fast they are produced.
+ */
+public class BulkInserts {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+
+  private BulkInserts() {
+  }
+
+  /**
+   * @return a {@link Flowable} emitting the number of documents inserted by each batch
+   */
+  public static <T> Flowable<Object> insert(Flowable<T> documents, MongoCollection collection) {
+    return insert(documents, collection, DEFAULT_BATCH_SIZE, DEFAULT_MAX_BATCHES_IN_FLIGHT);
+  }
+
+  public static <T> Flowable<Object> insert(Flowable<T> documents, MongoCollection collection, int batchSize,
+      int maxBatchesInFlight) {
+    return documents
+        .buffer(batchSize)
+        .flatMap(batch ->
+            Flowable.<Object>fromCallable(() -> insertBatch(collection, batch)).subscribeOn(Schedulers.io()),
+            maxBatchesInFlight);
+  }
+
+  private static <T> int insertBatch(MongoCollection collection, List<T> batch) {
+    collection.insert(batch.toArray());
+
+    return batch.size();
+  }
+}
@@ -1,14 +1,9 @@
 package org.icgc.dcc.imports.variant.processor.impl.common;
 
 import io.reactivex.Observable;
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.icgc.dcc.imports.variant.processor.api.UnCompressor;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.util.zip.GZIPInputStream;
 
 /**
  * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
@@ -28,30 +23,14 @@ import java.util.zip.GZIPInputStream;
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-@RequiredArgsConstructor
+/**
+ * Passes gzipped files through untouched: the file readers inflate them while reading (see
+ * {@link BufferedFileReaders}), which avoids writing and re-reading the uncompressed file.
+ */
 public class GzipFileUnCompressor implements UnCompressor {
 
-  @NonNull
-  private String untarFilename;
-
   @Override
   public Observable<File> unzip(Observable<File> input) {
-
-    return
-      input.map(src -> {
-        File outputFile = new File(src.getParentFile(), untarFilename);
-        byte[] buffer = new byte[1024];
-        GZIPInputStream gzis = new GZIPInputStream(new FileInputStream(src));
-        FileOutputStream out = new FileOutputStream(outputFile);
-        int len;
-        while((len = gzis.read(buffer)) > 0){
-          out.write(buffer, 0, len);
-        }
-        gzis.close();
-        out.close();
-        src.delete();
-        return outputFile;
-      });
-
+    return input;
   }
 }
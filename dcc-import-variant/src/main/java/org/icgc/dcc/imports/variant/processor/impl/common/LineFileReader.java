@@ -0,0 +1,86 @@
+package org.icgc.dcc.imports.variant.processor.impl.common;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.icgc.dcc.imports.variant.processor.api.FileReader;
+
+import java.io.BufferedReader;
+import java.io.File;
+
+/**
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
+ * <p>
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Base for line-oriented {@link FileReader}s. Lines are emitted on demand from a reader that is disposed with the
+ * subscription, so memory use does not depend on the file size. With a parallelism above one, lines are parsed on
+ * parallel rails, which does not preserve their order.
+ */
+public abstract class LineFileReader<T> implements FileReader<T> {
+
+  private final int parallelism;
+
+  protected LineFileReader() {
+    this(1);
+  }
+
+  protected LineFileReader(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public Flowable<T> read(File file) {
+    Flowable<String> lines = selectLines(readLines(file));
+    if (parallelism > 1) {
+      return lines
+          .parallel(parallelism)
+          .runOn(Schedulers.computation())
+          .map(this::parse)
+          .filter(this::accept)
+          .sequential();
+    }
+
+    return lines.map(this::parse).filter(this::accept);
+  }
+
+  /**
+   * Drops headers, comments, etc.
+   */
+  protected Flowable<String> selectLines(Flowable<String> lines) {
+    return lines;
+  }
+
+  protected abstract T parse(String line);
+
+  protected boolean accept(T record) {
+    return true;
+  }
+
+  private static Flowable<String> readLines(File file) {
+    return Flowable.using(
+        () -> BufferedFileReaders.open(file),
+        reader -> Flowable.<String>generate(emitter -> {
+          String line = reader.readLine();
+          if (line == null) {
+            emitter.onComplete();
+          } else {
+            emitter.onNext(line);
+          }
+        }),
+        BufferedReader::close);
+  }
+}
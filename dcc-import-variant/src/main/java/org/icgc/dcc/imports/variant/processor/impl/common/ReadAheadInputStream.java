@@ -0,0 +1,135 @@
+package org.icgc.dcc.imports.variant.processor.impl.common;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
+ * <p>
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Reads its source on a background thread, a few chunks ahead of the consumer, so that producing the bytes (e.g.
+ * inflating a gzip file) overlaps with whatever the consumer does with them.
+ */
+public class ReadAheadInputStream extends InputStream {
+
+  private static final byte[] END = new byte[0];
+
+  private final BlockingQueue<byte[]> chunks;
+  private final Thread producer;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  private byte[] chunk;
+  private int position;
+  private boolean finished;
+
+  public ReadAheadInputStream(InputStream source, String name, int chunkSize, int chunkCount) {
+    this.chunks = new ArrayBlockingQueue<>(chunkCount);
+    this.producer = new Thread(() -> produce(source, chunkSize), "read-ahead-" + name);
+    this.producer.setDaemon(true);
+    this.producer.start();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextChunk()) {
+      return -1;
+    }
+
+    return chunk[position++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!nextChunk()) {
+      return -1;
+    }
+
+    int n = Math.min(length, chunk.length - position);
+    System.arraycopy(chunk, position, buffer, offset, n);
+    position += n;
+
+    return n;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    producer.interrupt();
+  }
+
+  private boolean nextChunk() throws IOException {
+    if (chunk != null && position < chunk.length) {
+      return true;
+    }
+    if (finished) {
+      return false;
+    }
+
+    try {
+      chunk = chunks.take();
+      position = 0;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+
+    if (chunk == END) {
+      finished = true;
+      if (failure != null) {
+        throw failure;
+      }
+
+      return false;
+    }
+
+    return true;
+  }
+
+  private void produce(InputStream source, int chunkSize) {
+    try {
+      try (InputStream input = source) {
+        while (!closed) {
+          byte[] buffer = new byte[chunkSize];
+          int n = ByteStreams.read(input, buffer, 0, chunkSize);
+          if (n > 0) {
+            chunks.put(n == chunkSize ? buffer : Arrays.copyOf(buffer, n));
+          }
+          if (n < chunkSize) {
+            break;
+          }
+        }
+      } catch (IOException e) {
+        failure = e;
+      }
+
+      chunks.put(END);
+    } catch (InterruptedException e) {
+      // Closed by the consumer
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package org.icgc.dcc.imports.variant.processor;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import lombok.SneakyThrows;
 import org.icgc.dcc.imports.variant.model.CivicClinicalEvidenceSummary;
 import org.icgc.dcc.imports.variant.model.ClinvarVariantSummary;
 import org.icgc.dcc.imports.variant.model.ClinvarVariationAllele;
@@ -11,8 +13,13 @@ import org.icgc.dcc.imports.variant.processor.impl.clinvar.ClinvarVariationAllel
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.
@@ -54,6 +61,35 @@ public class FileReaderTest extends FileOperation{
     );
   }
 
+  @Test
+  public void clinvarAlleleParallelFileReaderTest() {
+    ClinvarVariationAlleleFileReader reader = new ClinvarVariationAlleleFileReader(4);
+    Flowable<ClinvarVariationAllele> alleles = reader.read(files[1]);
+    Stream<ClinvarVariationAllele> stream = StreamSupport.stream(alleles.blockingIterable().spliterator(), false);
+    Assert.assertEquals(
+        stream.filter(allele -> allele.getAlleleID() == 15041).findFirst().get().getVariationID(),
+        2
+    );
+  }
+
+  @Test
+  @SneakyThrows
+  public void clinvarAlleleGzipFileReaderTest() {
+    File gzipped = new File(tmpPath + "/clinvar_allele.txt.gz");
+    try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gzipped))) {
+      Files.copy(files[1].toPath(), out);
+    }
+
+    ClinvarVariationAlleleFileReader reader = new ClinvarVariationAlleleFileReader();
+    Observable<ClinvarVariationAllele> alleles = reader.extract(Observable.just(gzipped));
+    Stream<ClinvarVariationAllele> stream = StreamSupport.stream(alleles.blockingIterable().spliterator(), false);
+    Assert.assertEquals(
+        stream.filter(allele -> allele.getAlleleID() == 15041).findFirst().get().getVariationID(),
+        2
+    );
+    gzipped.delete();
+  }
+
   @Test
   public void clinvarAlleleFileReaderTest() {
     ClinvarVariationAlleleFileReader reader = new ClinvarVariationAlleleFileReader();
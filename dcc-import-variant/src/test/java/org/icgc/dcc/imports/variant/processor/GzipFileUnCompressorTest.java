@@ -33,12 +33,12 @@ public class GzipFileUnCompressorTest {
     String tmpPath = (systemDir.endsWith("/")?systemDir.substring(0, systemDir.length()-1):systemDir) + "/dcc/import/variant";
     String clinvarSummaryFilename = "variant_summary.txt.gz";
     Downloader clinvarSummaryDownloader = new ShellCommandDownloader("ftp://ftp.ncbi.nlm.nih.gov/pub/clinvar/tab_delimited/" + clinvarSummaryFilename, tmpPath, clinvarSummaryFilename);
-    GzipFileUnCompressor unzipper = new GzipFileUnCompressor("variant_summary.txt");
-    clinvarSummaryDownloader
+    GzipFileUnCompressor unzipper = new GzipFileUnCompressor();
+    File unzippedFile = clinvarSummaryDownloader
         .download().compose(unzipper::unzip)
-        .subscribe();
-    String clinvarSummaryUnzippedFilename = "variant_summary.txt";
-    File unzippedFile = new File(tmpPath + "/" + clinvarSummaryUnzippedFilename);
+        .blockingSingle();
+    // Files are decompressed on read, so the download is passed through untouched
+    Assert.assertEquals(unzippedFile.getName(), clinvarSummaryFilename);
     Assert.assertEquals(unzippedFile.exists(), true);
     unzippedFile.delete();
   }
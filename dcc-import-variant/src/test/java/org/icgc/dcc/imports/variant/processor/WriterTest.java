@@ -2,7 +2,7 @@ package org.icgc.dcc.imports.variant.processor;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.mongodb.MongoClientURI;
-import io.reactivex.Observable;
+import io.reactivex.Flowable;
 import lombok.val;
 import org.icgc.dcc.common.test.mongodb.EmbeddedMongo;
 import org.icgc.dcc.imports.variant.model.CivicClinicalEvidenceSummary;
@@ -11,11 +11,15 @@ import org.icgc.dcc.imports.variant.model.ClinvarVariantSummary;
 import org.icgc.dcc.imports.variant.model.ClinvarVariationAllele;
 import org.icgc.dcc.imports.variant.processor.impl.civic.CivicClinicalEvidenceSummaryWriter;
 import org.icgc.dcc.imports.variant.processor.impl.clinvar.ClinvarVariantWriter;
+import org.icgc.dcc.imports.variant.processor.impl.common.BulkInserts;
 import org.jongo.Jongo;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.icgc.dcc.imports.core.util.Importers.getLocalMongoClientUri;
 
 /**
@@ -48,11 +52,11 @@ public class WriterTest {
     Jongo jongo = getJongo(mongo, mongoClientURI);
     CivicClinicalEvidenceSummaryWriter writer = new CivicClinicalEvidenceSummaryWriter(jongo, "Civic");
     writer.write(
-        Observable.just(
+        Flowable.just(
             builder.build("JAK2\t3717\tV617F\tLymphoid Leukemia\t10747\t\tDiagnostic\tSupports\tB\tNegative\tJAK2 V617F is not associated with lymphoid leukemia (B-lineage ALL, T-ALL or CLL).\t16081687\tLevine et al., 2005, Blood\t4\taccepted\t1\t64\t28\t9\t5073770\t5073770\tG\tT\tENST00000381652.3\t\t\t\t\t75\tGRCh37\tJAK2 V617F is a highly recurrent mutation in myeloproliferative diseases. It is found in around 98% of patients with polycythemia vera, and just over half of the patients with essential thrombocythemia and primary myelofibrosis. While less associated with cancer, when it is seen, it is more likely to be in myeloid leukemias than lymphoid leukemias. The V617F mutation is an activating mutation, resulting in increased kinase activity. The mutation seems to be restricted to hematologic malignancies. Treatment of JAK mutant diseases with ruxolitinib has seen some clinical success.\tSomatic Mutation\t2015-06-21 16:49:38 UTC\thttps://civic.genome.wustl.edu/links/evidence_items/1\thttps://civic.genome.wustl.edu/links/variants/64\thttps://civic.genome.wustl.edu/links/genes/28")
 //            builder.build("PDGFRA\t5156\tD842V\tGastrointestinal Stromal Tumor\t9253\t\tDiagnostic\tSupports\tB\tNegative\tGIST tumors harboring PDGFRA D842V mutation are more likely to be benign than malignant.\t15146165\tLasota et al., 2004, Lab. Invest.\t3\taccepted\t2\t99\t38\t4\t55152093\t55152093\tA\tT\tENST00000257290.5\t\t\t\t\t75\tGRCh37\tPDGFRA D842 mutations are characterized broadly as imatinib resistance mutations. This is most well characterized in gastrointestinal stromal tumors, but other cell lines containing these mutations have been shown to be resistant as well. Exogenous expression of the A842V mutation resulted in constitutive tyrosine phosphorylation of PDGFRA in the absence of ligand in 293T cells and cytokine-independent proliferation of the IL-3-dependent Ba/F3 cell line, both evidence that this is an activating mutation. In imatinib resistant cell lines, a number of other therapeutics have demonstrated efficacy. These include; crenolanib, sirolimus, and midostaurin (PKC412).\tSomatic Mutation\t2015-06-21 16:49:38 UTC\thttps://civic.genome.wustl.edu/links/evidence_items/2\thttps://civic.genome.wustl.edu/links/variants/99\thttps://civic.genome.wustl.edu/links/genes/38")
         )
-    ).subscribe();
+    ).blockingSubscribe();
     Assert.assertEquals(
       jongo.getCollection("Civic").findOne().as(JsonNode.class).get("geneCivicUrl").asText(), "https://civic.genome.wustl.edu/links/genes/28"
     );
@@ -69,13 +73,13 @@ public class WriterTest {
     ClinvarVariantWriter writer = new ClinvarVariantWriter(jongo, "Clinvar");
 
     writer.write(
-        Observable.just(
+        Flowable.just(
             ClinvarVariant.Builder.build(
                 summaryBuilder.build("15041\tindel\tNM_014855.2(AP5Z1):c.80_83delGGATinsTGCTGTAAACTGTAACTGTAAA (p.Arg27_Ala362delinsLeuLeuTer)\t9907\tAP5Z1\tHGNC:22197\tPathogenic\t1\tJun 29, 2010\t397704705\t-\tRCV000000012\tMedGen:C3150901,OMIM:613647,Orphanet:ORPHA306511\tSpastic paraplegia 48, autosomal recessive\tgermline\tgermline\tGRCh37\tNC_000007.13\t7\t4820844\t4820847\tGGAT\tTGCTGTAAACTGTAACTGTAAA\t7p22.1\tno assertion criteria provided\t1\t\tN\tOMIM Allelic Variant:613653.0001\t1"),
                 alleleBuilder.build("2\tVariant\t15041\tyes")
             )
         )
-    ).subscribe();
+    ).blockingSubscribe();
 
     Assert.assertEquals(
         jongo.getCollection("Clinvar").findOne().as(JsonNode.class).get("chromosomeAccession").asText(), "NC_000007.13"
@@ -83,6 +87,20 @@ public class WriterTest {
 
   }
 
+  @Test
+  public void bulkInsertsTest() {
+    MongoClientURI mongoClientURI = getLocalMongoClientUri(mongo.getPort(), "dcc-import-variant-bulk-insert-test");
+    Jongo jongo = getJongo(mongo, mongoClientURI);
+
+    List<Object> batches = BulkInserts.insert(
+        Flowable.range(0, 7).map(index -> Collections.singletonMap("index", index)),
+        jongo.getCollection("Bulk"), 2, 2
+    ).toList().blockingGet();
+
+    Assert.assertEquals(4, batches.size());
+    Assert.assertEquals(7, jongo.getCollection("Bulk").count());
+  }
+
   private Jongo getJongo(EmbeddedMongo mongodb, MongoClientURI mongoUri) {
     val mongo = mongodb.getMongo();
     val db = mongo.getDB(mongoUri.getDatabase());